@@ -0,0 +1,74 @@
+package org.kasarab.cs_demo.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.kasarab.cs_demo.CsDemoApplication;
+import org.kasarab.cs_demo.service.cache.UserListVersionCache;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the application on a random port against an in-memory H2 database, so benchmarks run offline.
+ * The schema comes from the Flyway migrations, the same as in production.
+ */
+public final class BenchmarkApplication {
+
+    private static final List<String> DEFAULT_PROPERTIES = List.of(
+            "server.port=0",
+            "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.r2dbc.url=r2dbc:h2:mem:///benchmark?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+            "spring.r2dbc.username=sa",
+            "spring.r2dbc.password=",
+            "spring.jpa.hibernate.ddl-auto=none",
+            "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.properties.hibernate.show_sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=warn",
+            "logging.level.org.kasarab=warn"
+    );
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Properties are passed as command-line arguments, so they override application.yml and active profiles;
+     * later ones win over earlier ones.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> allProperties = new ArrayList<>(DEFAULT_PROPERTIES);
+        allProperties.addAll(Arrays.asList(properties));
+        return new SpringApplicationBuilder(CsDemoApplication.class)
+                .run(allProperties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    public static String baseUrl(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port + "/api/users";
+    }
+
+    /**
+     * Inserts {@code count} synthetic adult users in one statement and moves the id sequence past them.
+     */
+    public static void seedUsers(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("delete from users");
+        jdbcTemplate.update("""
+                insert into users (id, firstname, lastname, birthdate, email, address, phone_number)
+                select x, concat('First', x), concat('Last', x), dateadd('DAY', -mod(x, 20000), date '2005-01-01'),
+                       concat('user', x, '@example', mod(x, 100), '.com'), 'Lviv', '+380987654321'
+                from system_range(1, ?)
+                """, count);
+        jdbcTemplate.execute("alter sequence user_id_sequence restart with " + (count + 1));
+        // plain JDBC bypasses Hibernate and the services, so drop what their caches and the list version still hold
+        context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache().evictAllRegions();
+        context.getBean(UserListVersionCache.class).invalidate();
+    }
+}
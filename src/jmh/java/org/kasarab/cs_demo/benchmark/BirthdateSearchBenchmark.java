@@ -0,0 +1,87 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.domain.UserCursorResponse;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Birthdate range queries over one million users, with the (birthdate, id) index and with it dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BirthdateSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+
+    private static final LocalDate NARROW_FROM = LocalDate.of(1990, 3, 1);
+
+    private static final LocalDate NARROW_TO = LocalDate.of(1990, 3, 31);
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+
+    private UserServiceImpl userService;
+
+    private String secondPageCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seedUsers(context, USERS);
+        if (!indexed) {
+            context.getBean(JdbcTemplate.class).execute("drop index if exists idx_users_birthdate_id");
+        }
+        userService = context.getBean(UserServiceImpl.class);
+        secondPageCursor = userService.findUsersByBirthdayAfter(NARROW_FROM, NARROW_TO, null, 20).getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserDTO> narrowRangeList() {
+        return userService.findUsersByBirthday(NARROW_FROM, NARROW_TO);
+    }
+
+    @Benchmark
+    public UserCursorResponse narrowRangeFirstPage() {
+        return userService.findUsersByBirthdayAfter(NARROW_FROM, NARROW_TO, null, 20);
+    }
+
+    @Benchmark
+    public UserCursorResponse narrowRangeNextPage() {
+        return userService.findUsersByBirthdayAfter(NARROW_FROM, NARROW_TO, secondPageCursor, 20);
+    }
+
+    @Benchmark
+    public UserCursorResponse wideRangeFirstPage() {
+        return userService.findUsersByBirthdayAfter(LocalDate.of(1950, 1, 1), LocalDate.of(2005, 1, 1), null, 20);
+    }
+}
@@ -0,0 +1,95 @@
+package org.kasarab.cs_demo.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.User;
+import org.kasarab.cs_demo.metrics.HotPathMetrics;
+import org.kasarab.cs_demo.metrics.HotPathMetricsAspect;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.mapper.DirectUserMapper;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the hot-path timers on single calls, with the timers on and off. {@code toDto} is the cheapest
+ * call the aspect wraps, so it shows the overhead at its largest; {@code findById} reads one user through
+ * the second-level cache, the way most repository calls are served.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathMetricsBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({"true", "false"})
+    public boolean metricsEnabled;
+
+    private ConfigurableApplicationContext context;
+
+    private UserRepository userRepository;
+
+    private UserMapper userMapper;
+
+    private User user;
+
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HotPathMetrics metrics = new HotPathMetrics(new SimpleMeterRegistry(), metricsEnabled);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new DirectUserMapper());
+        factory.addAspect(new HotPathMetricsAspect(metrics));
+        userMapper = factory.getProxy();
+        user = User.builder()
+                .id(1L)
+                .firstname("First")
+                .lastname("Last")
+                .birthdate(LocalDate.of(1990, 1, 1))
+                .email("user@example.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+
+        context = BenchmarkApplication.start("user.metrics.enabled=" + metricsEnabled);
+        BenchmarkApplication.seedUsers(context, USERS);
+        userRepository = context.getBean(UserRepository.class);
+        userId = USERS / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDTO toDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(userId);
+    }
+}
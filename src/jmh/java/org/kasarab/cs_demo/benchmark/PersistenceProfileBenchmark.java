@@ -0,0 +1,139 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserImportResponse;
+import org.kasarab.cs_demo.domain.UserImportRow;
+import org.kasarab.cs_demo.service.impl.UserImportServiceImpl;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * The create and update paths under the default settings of application.yml against the {@code perf} profile.
+ * <p>
+ * On the default in-memory H2 database this measures the SQL echo, pool sizing and Hibernate batching;
+ * the driver settings (server-side prepared statements, {@code reWriteBatchedInserts}) only apply to
+ * PostgreSQL, so pass {@code -p postgresUrl=jdbc:postgresql://localhost:5432/cd_demo} (user and password
+ * {@code postgres}) to measure them too. The users table is emptied before each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private static final int IMPORT_BATCH = 500;
+
+    @Param({"default", "perf"})
+    public String profile;
+
+    @Param({""})
+    public String postgresUrl;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private UserServiceImpl userService;
+
+    private UserImportServiceImpl userImportService;
+
+    private long[] seededIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> properties = new ArrayList<>();
+        if (profile.equals("perf")) {
+            properties.add("spring.profiles.active=perf");
+        } else {
+            // what application.yml ships with; BenchmarkApplication turns the echo off for other benchmarks
+            properties.add("spring.jpa.properties.hibernate.show_sql=true");
+            properties.add("spring.jpa.properties.hibernate.format_sql=true");
+        }
+        if (!postgresUrl.isBlank()) {
+            properties.add("spring.datasource.url=" + postgresUrl);
+            properties.add("spring.datasource.username=postgres");
+            properties.add("spring.datasource.password=postgres");
+            properties.add("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect");
+        }
+        context = BenchmarkApplication.start(properties.toArray(String[]::new));
+        userService = context.getBean(UserServiceImpl.class);
+        userImportService = context.getBean(UserImportServiceImpl.class);
+
+        // seeded through the import so it runs on H2 and PostgreSQL alike
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("delete from users");
+        userImportService.importUsers(IntStream.range(0, USERS).mapToObj(i -> UserImportRow.of(user("seed" + i))).iterator());
+        // seededIds[n] is the user named seed<n>, so updates keep each user's own email
+        seededIds = new long[USERS];
+        jdbcTemplate.query("select id, lastname from users", row -> {
+            seededIds[Integer.parseInt(row.getString("lastname").substring("seed".length()))] = row.getLong("id");
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDTO create() {
+        return userService.create(user("create" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public UserDTO update() {
+        int n = ThreadLocalRandom.current().nextInt(seededIds.length);
+        UserDTO user = user("seed" + n);
+        user.setFirstname("Updated" + sequence.incrementAndGet());
+        return userService.update(seededIds[n], user);
+    }
+
+    @Benchmark
+    public UserImportResponse createBatch() {
+        long first = sequence.getAndAdd(IMPORT_BATCH);
+        List<UserImportRow> rows = new ArrayList<>(IMPORT_BATCH);
+        for (int i = 0; i < IMPORT_BATCH; i++) {
+            rows.add(UserImportRow.of(user("batch" + (first + i))));
+        }
+        return userImportService.importUsers(rows.iterator());
+    }
+
+    private static UserDTO user(String name) {
+        return UserDTO.builder()
+                .firstname("First")
+                .lastname(name)
+                .birthdate(LocalDate.of(1990, 8, 19))
+                .email(name + "@example.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same requests from 256 concurrent clients against Spring MVC + JPA ({@code servlet}) and
+ * WebFlux + R2DBC ({@code reactive}). Tomcat is capped at 64 threads and both connection pools at 40,
+ * so the servlet stack queues on threads while the reactive one only waits for connections; compare
+ * throughput and the sample-time percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(256)
+@Fork(1)
+public class ReactiveStackBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.main.web-application-type=" + stack,
+                "server.tomcat.threads.max=64",
+                "spring.datasource.hikari.maximum-pool-size=40",
+                "spring.r2dbc.pool.max-size=40",
+                // both stacks go to the database on every request
+                "user.cache.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        BenchmarkApplication.seedUsers(context, USERS);
+        baseUrl = BenchmarkApplication.baseUrl(context);
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getUser() throws Exception {
+        URI uri = URI.create(baseUrl + "/" + ThreadLocalRandom.current().nextInt(1, USERS + 1));
+        return httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    /**
+     * One birth year, about 365 users per response.
+     */
+    @Benchmark
+    public int searchByBirthdate() throws Exception {
+        int year = ThreadLocalRandom.current().nextInt(1978, 2005);
+        URI uri = URI.create(baseUrl + "/search?dateFrom=01-01-" + year + "&dateTo=31-12-" + year);
+        return httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+}
@@ -0,0 +1,105 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.service.analytics.UserSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reports served from the off-heap snapshot against the same reports over heap objects, which is what
+ * {@code findAll()} plus stream grouping would cost after loading. The setup prints the snapshot's
+ * off-heap bytes and the heap retained by the object list, per million users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserAnalyticsBenchmark {
+
+    @Param({"1000000"})
+    public int users;
+
+    private final LocalDate today = LocalDate.of(2024, 6, 1);
+
+    private UserSnapshot snapshot;
+
+    private List<Row> rows;
+
+    private record Row(LocalDate birthdate, String email) {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long heapBefore = usedHeap();
+        rows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            rows.add(new Row(LocalDate.of(2005, 1, 1).minusDays(i % 20000), "user" + i + "@example" + (i % 100) + ".com"));
+        }
+        long heapBytes = usedHeap() - heapBefore;
+
+        UserSnapshot.Builder builder = new UserSnapshot.Builder(users);
+        for (Row row : rows) {
+            builder.add(row.birthdate(), row.email());
+        }
+        snapshot = builder.build(Instant.now());
+
+        double millions = users / 1_000_000.0;
+        System.out.printf("%nsnapshot: %.1f MB off-heap per million users; heap rows: %.1f MB per million users%n",
+                snapshot.memoryBytes() / millions / (1 << 20), heapBytes / millions / (1 << 20));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> snapshotCountByBirthYear() {
+        return snapshot.countByBirthYear();
+    }
+
+    @Benchmark
+    public Map<Integer, Long> snapshotCountByAge() {
+        return snapshot.countByAge(today, 10);
+    }
+
+    @Benchmark
+    public Map<String, Long> snapshotCountByEmailDomain() {
+        return snapshot.countByEmailDomain(20);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> heapCountByBirthYear() {
+        return rows.stream().collect(Collectors.groupingBy(row -> row.birthdate().getYear(), Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<String, Long> heapCountByEmailDomain() {
+        Function<Row, String> domain = row -> row.email().substring(row.email().lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+        return rows.stream().collect(Collectors.groupingBy(domain, Collectors.counting()));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,99 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a list of user ids with one {@code POST /batch-get} against one {@code GET /{userId}} per id.
+ * The user cache is off so both sides pay for the database; a fresh random id list is drawn per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserBatchGetBenchmark {
+
+    private static final int USERS = 100_000;
+
+    @Param({"10", "100", "1000"})
+    public int ids;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private long[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("user.cache.enabled=false");
+        BenchmarkApplication.seedUsers(context, USERS);
+        baseUrl = BenchmarkApplication.baseUrl(context);
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @Setup(Level.Invocation)
+    public void drawIds() {
+        userIds = new long[ids];
+        for (int i = 0; i < ids; i++) {
+            userIds[i] = random.nextLong(1, USERS + 1);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int batchGet() throws Exception {
+        StringBuilder body = new StringBuilder("{\"ids\":[");
+        for (int i = 0; i < userIds.length; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(userIds[i]);
+        }
+        body.append("]}");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/batch-get"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    @Benchmark
+    public int sequentialGets() throws Exception {
+        int bytes = 0;
+        for (long userId : userIds) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + userId)).GET().build();
+            bytes += httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+        }
+        return bytes;
+    }
+}
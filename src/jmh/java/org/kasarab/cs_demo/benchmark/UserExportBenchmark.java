@@ -0,0 +1,90 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-table read through the list endpoint versus the streaming export. Each op reads the whole body;
+ * multiply ops/s by {@code users} for rows/s. Run with {@code -prof gc} to compare allocation per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class UserExportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private URI listUri;
+
+    private URI ndjsonUri;
+
+    private URI jsonArrayUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seedUsers(context, users);
+        String baseUrl = BenchmarkApplication.baseUrl(context);
+        listUri = URI.create(baseUrl + "/");
+        ndjsonUri = URI.create(baseUrl + "/export?format=ndjson");
+        jsonArrayUri = URI.create(baseUrl + "/export?format=json");
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long listEndpoint() throws Exception {
+        return readFully(listUri);
+    }
+
+    @Benchmark
+    public long ndjsonExport() throws Exception {
+        return readFully(ndjsonUri);
+    }
+
+    @Benchmark
+    public long jsonArrayExport() throws Exception {
+        return readFully(jsonArrayUri);
+    }
+
+    private long readFully(URI uri) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(
+                HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            return body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
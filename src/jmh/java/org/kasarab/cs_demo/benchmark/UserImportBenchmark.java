@@ -0,0 +1,89 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second through {@code POST /add} one user at a time versus {@code POST /import} in one request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserImportBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        baseUrl = BenchmarkApplication.baseUrl(context);
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int singleInserts() throws Exception {
+        int status = 0;
+        for (int i = 0; i < ROWS; i++) {
+            status = post("/add", "application/json", userJson(++sequence));
+        }
+        return status;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int ndjsonImport() throws Exception {
+        StringBuilder body = new StringBuilder(ROWS * 128);
+        for (int i = 0; i < ROWS; i++) {
+            body.append(userJson(++sequence)).append('\n');
+        }
+        return post("/import", "application/x-ndjson", body.toString());
+    }
+
+    private int post(String path, String contentType, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String userJson(long n) {
+        return "{\"firstname\":\"First" + n + "\",\"lastname\":\"Last" + n + "\",\"birthdate\":\"19-08-2000\","
+                + "\"email\":\"import" + n + "@example.com\",\"address\":\"Lviv\",\"phoneNumber\":\"+380987654321\"}";
+    }
+}
@@ -0,0 +1,73 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.entity.User;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-row inserts from concurrent threads; compare against a build with {@code allocationSize = 1}
+ * to see the cost of one sequence round-trip per row. Tear-down fails if any id was handed out twice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class UserInsertBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long duplicates = jdbcTemplate.queryForObject(
+                "select count(*) - count(distinct id) from users", Long.class);
+        context.close();
+        if (duplicates == null || duplicates != 0) {
+            throw new IllegalStateException("Duplicate user ids: " + duplicates);
+        }
+    }
+
+    @Benchmark
+    public User insert() {
+        long n = sequence.incrementAndGet();
+        return userRepository.save(User.builder()
+                .firstname("First" + n)
+                .lastname("Last" + n)
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("insert" + n + "@example.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build());
+    }
+}
@@ -0,0 +1,98 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /{userId}} under a Zipfian key distribution, with and without the user cache.
+ * Sample-time mode reports the latency percentiles (p99 included).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    /**
+     * Cumulative probability of ranks 1..n; rank r maps to user id r.
+     */
+    private double[] cumulative;
+
+    @State(Scope.Thread)
+    public static class Keys {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        long next(double[] cumulative) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return (index < 0 ? -index - 1 : index) + 1L;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("user.cache.enabled=" + cacheEnabled);
+        BenchmarkApplication.seedUsers(context, USERS);
+        baseUrl = BenchmarkApplication.baseUrl(context);
+        httpClient = HttpClient.newHttpClient();
+
+        cumulative = new double[USERS];
+        double sum = 0;
+        for (int rank = 1; rank <= USERS; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < USERS; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getUser(Keys keys) throws Exception {
+        URI uri = URI.create(baseUrl + "/" + keys.next(cumulative));
+        return httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+}
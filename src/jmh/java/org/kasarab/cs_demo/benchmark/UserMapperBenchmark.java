@@ -0,0 +1,73 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.User;
+import org.kasarab.cs_demo.service.mapper.DirectUserMapper;
+import org.kasarab.cs_demo.service.mapper.ModelMapperUserMapper;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk entity to DTO mapping, the work every list endpoint does per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int users;
+
+    private List<User> userList;
+
+    private UserMapper directMapper;
+
+    private UserMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        userList = new ArrayList<>(users);
+        for (long i = 1; i <= users; i++) {
+            userList.add(User.builder()
+                    .id(i)
+                    .firstname("First" + i)
+                    .lastname("Last" + i)
+                    .birthdate(LocalDate.of(2000, 1, 1).minusDays(i % 20000))
+                    .email("user" + i + "@example.com")
+                    .address("Lviv")
+                    .phoneNumber("+380987654321")
+                    .build());
+        }
+        directMapper = new DirectUserMapper();
+        modelMapper = new ModelMapperUserMapper(new ModelMapper());
+    }
+
+    @Benchmark
+    public List<UserDTO> directMapper() {
+        return directMapper.toDtoList(userList);
+    }
+
+    @Benchmark
+    public List<UserDTO> modelMapper() {
+        return modelMapper.toDtoList(userList);
+    }
+}
@@ -0,0 +1,107 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code GET /all/pagination} with 1000-user pages: uncompressed, gzipped by Tomcat on every request, and
+ * served from the pre-compressed page cache. The setup prints the bytes on the wire per page; every
+ * iteration prints the process CPU time per request (server and client, as they share the JVM).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserPageCompressionBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final int PAGES = 20;
+
+    @Param({"identity", "gzip", "gzip-cached"})
+    public String mode;
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private com.sun.management.OperatingSystemMXBean os;
+
+    private long cpuAtIterationStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start(
+                "server.compression.enabled=" + !mode.equals("identity"),
+                "user.page-cache.enabled=" + mode.equals("gzip-cached"));
+        BenchmarkApplication.seedUsers(context, USERS);
+        baseUrl = BenchmarkApplication.baseUrl(context);
+        httpClient = HttpClient.newHttpClient();
+        os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+        HttpResponse<byte[]> response = get(0);
+        System.out.printf("%n%s: %d bytes on the wire per %d-user page, Content-Encoding: %s%n", mode,
+                response.body().length, PAGE_SIZE, response.headers().firstValue("Content-Encoding").orElse("none"));
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuClock() {
+        requests.set(0);
+        cpuAtIterationStart = os.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCpuPerRequest() {
+        long cpu = os.getProcessCpuTime() - cpuAtIterationStart;
+        System.out.printf("%n%s: %.1f us CPU per request%n", mode, cpu / 1000.0 / Math.max(requests.get(), 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getPage() throws Exception {
+        requests.incrementAndGet();
+        return get(ThreadLocalRandom.current().nextInt(PAGES)).body().length;
+    }
+
+    private HttpResponse<byte[]> get(int pageNo) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create(baseUrl + "/all/pagination?pageNo=" + pageNo + "&pageSize=" + PAGE_SIZE));
+        if (!mode.equals("identity")) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
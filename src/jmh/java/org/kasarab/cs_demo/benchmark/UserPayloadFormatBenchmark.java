@@ -0,0 +1,85 @@
+package org.kasarab.cs_demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a user page as JSON, CBOR and Smile, the formats the controller negotiates.
+ * The setup prints the payload size of each format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPayloadFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    private ObjectWriter writer;
+
+    private ObjectReader reader;
+
+    private UserResponse response;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new JsonMapper();
+        };
+        mapper.findAndRegisterModules();
+        writer = mapper.writerFor(UserResponse.class);
+        reader = mapper.readerFor(UserDTO[].class).at("/users");
+
+        List<UserDTO> userList = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userList.add(new UserDTO("First" + i, "Last" + i, LocalDate.of(2000, 1, 1).minusDays(i % 20_000),
+                    "user" + i + "@example.com", "Lviv", "+380987654321", 0, null));
+        }
+        response = new UserResponse(userList, 0, users, 1_000_000, 1_000_000 / users, false);
+        payload = writer.writeValueAsBytes(response);
+        System.out.printf("%n%s, %d users: %d bytes (%.1f per user)%n",
+                format, users, payload.length, (double) payload.length / users);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public UserDTO[] deserialize() throws Exception {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,102 @@
+package org.kasarab.cs_demo.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserResponse;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10k-row reads as managed entities mapped to DTOs (the previous code path) against DTO projections.
+ * Compare {@code gc.alloc.rate.norm} (bytes per call) from the GC profiler. Hibernate's caches are emptied
+ * before every call so both sides read from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserProjectionBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private static final int PAGE_SIZE = 10_000;
+
+    /**
+     * Seeded users are spread five per day, so 2000 days hold 10k of them.
+     */
+    private static final LocalDate DATE_FROM = LocalDate.of(1990, 1, 1);
+
+    private static final LocalDate DATE_TO = DATE_FROM.plusDays(1999);
+
+    private ConfigurableApplicationContext context;
+
+    private UserServiceImpl userService;
+
+    private UserRepository userRepository;
+
+    private UserMapper userMapper;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("user.cache.enabled=false", "user.paging.max-page-size=" + PAGE_SIZE);
+        BenchmarkApplication.seedUsers(context, USERS);
+        userService = context.getBean(UserServiceImpl.class);
+        userRepository = context.getBean(UserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void evictCaches() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserDTO> pageAsEntities() {
+        return userMapper.toDtoList(userRepository.findAll(PageRequest.of(1, PAGE_SIZE)).getContent());
+    }
+
+    @Benchmark
+    public UserResponse pageAsProjection() {
+        return userService.getAllUsersPagination(1, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<UserDTO> birthdaysAsEntities() {
+        return userMapper.toDtoList(userRepository.findByBirthdateBetween(DATE_FROM, DATE_TO));
+    }
+
+    @Benchmark
+    public List<UserDTO> birthdaysAsProjection() {
+        return userRepository.findDtosByBirthdateBetween(DATE_FROM, DATE_TO);
+    }
+}
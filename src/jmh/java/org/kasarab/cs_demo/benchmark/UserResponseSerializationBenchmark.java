@@ -0,0 +1,57 @@
+package org.kasarab.cs_demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of a pagination response, as the controller returns it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserResponseSerializationBenchmark {
+
+    @Param({"5", "100", "1000"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+
+    private UserResponse response;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().findAndRegisterModules().writerFor(UserResponse.class);
+        List<UserDTO> users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(new UserDTO("First" + i, "Last" + i, LocalDate.of(2000, 1, 1).minusDays(i),
+                    "user" + i + "@example.com", "Lviv", "+380987654321", 0, null));
+        }
+        response = new UserResponse(users, 0, pageSize, 1_000_000, 1_000_000 / pageSize, false);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
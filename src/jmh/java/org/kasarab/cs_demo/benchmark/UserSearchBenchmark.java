@@ -0,0 +1,85 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.domain.UserSearchResponse;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Text search over one million users, sampled so the JMH report shows p95 and p99 per query shape:
+ * a selective prefix, a prefix shared by 111,111 users, an email prefix, a misspelled name and two words
+ * matching 11 and 111,112 users.
+ * {@code likeScan} is the same first page answered by SQL {@code LIKE} without a text index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+
+    @Param({"first12345", "last9", "user777@", "fisrt12345", "first12345 last1"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+
+    private UserServiceImpl userService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seedUsers(context, USERS);
+        userService = context.getBean(UserServiceImpl.class);
+        // the startup warm-up ran before seeding
+        userService.warmUpSearchIndex();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserSearchResponse firstPage() {
+        return userService.searchUsers(query, true, 0, 20);
+    }
+
+    @Benchmark
+    public UserSearchResponse thirdPage() {
+        return userService.searchUsers(query, true, 2, 20);
+    }
+
+    @Benchmark
+    public List<Long> likeScan() {
+        String prefix = query.toLowerCase(Locale.ROOT) + "%";
+        return jdbcTemplate.queryForList("""
+                select id from users
+                where lower(firstname) like ? or lower(lastname) like ? or lower(email) like ?
+                order by id
+                limit 21
+                """, Long.class, prefix, prefix, prefix);
+    }
+}
@@ -0,0 +1,85 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserResponse;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end service calls against embedded H2 with 100k users, with the lookup cache off so every
+ * call reaches the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private UserServiceImpl userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("user.cache.enabled=false");
+        BenchmarkApplication.seedUsers(context, USERS);
+        userService = context.getBean(UserServiceImpl.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDTO findById() {
+        return userService.findById(ThreadLocalRandom.current().nextLong(1, USERS + 1));
+    }
+
+    @Benchmark
+    public UserResponse getAllUsersPagination() {
+        return userService.getAllUsersPagination(ThreadLocalRandom.current().nextInt(0, USERS / 20), 20);
+    }
+
+    @Benchmark
+    public List<UserDTO> findUsersByBirthday() {
+        return userService.findUsersByBirthday(LocalDate.of(1990, 3, 1), LocalDate.of(1990, 3, 7));
+    }
+
+    @Benchmark
+    public UserDTO create() {
+        long n = sequence.incrementAndGet();
+        return userService.create(UserDTO.builder()
+                .firstname("First" + n)
+                .lastname("Last" + n)
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("service" + n + "@example.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build());
+    }
+}
@@ -0,0 +1,65 @@
+package org.kasarab.cs_demo.benchmark;
+
+import org.kasarab.cs_demo.service.validation.UserValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-request validation done by create and update: {@link UserValidator} against the regex and
+ * {@code Period} checks it replaced. Run with the GC profiler to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserValidationBenchmark {
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    @Param({
+            "andriy.ostapenko@example.com",
+            "not-an-email@",
+            "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@a.b"
+    })
+    public String email;
+
+    private final LocalDate birthdate = LocalDate.of(2000, 8, 19);
+
+    private final UserValidator userValidator = new UserValidator(18);
+
+    @Benchmark
+    public boolean isValidEmailRegex() {
+        return EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean isValidEmailScanner() {
+        return UserValidator.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean checkUserAgePeriod() {
+        return Period.between(birthdate, LocalDate.now()).getYears() >= 18;
+    }
+
+    @Benchmark
+    public boolean checkUserAgeEpochDay() {
+        return userValidator.isOldEnough(birthdate);
+    }
+}
@@ -2,8 +2,10 @@ package org.kasarab.cs_demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CsDemoApplication {
 
     public static void main(String[] args) {
@@ -8,5 +8,25 @@ public class ErrorMessages {
     public final static String USER_IS_NOT_ALLOWED_BY_AGE_MSG = "User must be at least %s years old.";
     public final static String USER_WITH_EMAIL_EXISTS_MSG = "User with Email %s already exists.";
     public final static String EMAIL_IS_NOT_VALID_MSG = "User must be with a valid Email address.";
+    public final static String INVALID_CURSOR_MSG = "Cursor %s is not valid.";
+    public final static String PAGE_SIZE_MSG = "Page size must be from 1 to %s.";
+    public final static String PAGE_NUMBER_MSG = "Page number cannot be negative.";
+    public final static String BIRTHDATE_IS_EMPTY_MSG = "Birthdate cannot be empty";
+    public final static String IMPORT_ROW_NOT_READABLE_MSG = "Row could not be read: %s";
+    public final static String IMPORT_NOT_READABLE_MSG = "Import could not be read after row %s: %s";
+    public final static String IMPORT_CSV_QUOTE_MSG = "a quoted field must be closed on the same line";
+    public final static String IMPORT_CSV_HEADER_MSG = "CSV import must start with a header row containing: %s";
+    public final static String EXPORT_FORMAT_NOT_SUPPORTED_MSG = "Export format %s is not supported.";
+    public final static String REQUIRED_PARAMETER_MSG = "Parameter %s is required (format: dd-MM-yyyy).";
+    public final static String ANALYTICS_LIMIT_MSG = "Bucket size and limit must be greater than zero.";
+    public final static String USER_VERSION_MISMATCH_MSG = "User with id %s was modified by another request.";
+    public final static String SEARCH_QUERY_IS_EMPTY_MSG = "Search query cannot be empty.";
+    public final static String SEARCH_INDEX_LOADING_MSG = "Search index is still loading, retry later.";
+    public final static String WRITE_QUEUE_FULL_MSG = "Too many users waiting to be saved, retry later.";
+    public final static String WRITE_QUEUE_CLOSED_MSG = "Users cannot be queued while the service shuts down.";
+    public final static String WRITE_NOT_FOUND_MSG = "Write %s was not found.";
+    public final static String WRITE_FAILED_MSG = "User could not be saved.";
+    public final static String LOOKUP_TIMEOUT_MSG = "Lookup took too long, retry later.";
+    public final static String BATCH_IDS_MSG = "Batch must contain from 1 to %s user ids, none of them empty.";
 
 }
@@ -3,30 +3,91 @@ package org.kasarab.cs_demo.controller;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.kasarab.cs_demo.domain.EmailIndexStats;
+import org.kasarab.cs_demo.domain.UserBatchRequest;
+import org.kasarab.cs_demo.domain.UserBatchResponse;
+import org.kasarab.cs_demo.domain.ExportFormat;
+import org.kasarab.cs_demo.domain.UserCacheStats;
+import org.kasarab.cs_demo.domain.UserCursorResponse;
 import org.kasarab.cs_demo.domain.UserDTO;
-import org.kasarab.cs_demo.domain.UserResponse;
+import org.kasarab.cs_demo.domain.UserImportResponse;
+import org.kasarab.cs_demo.domain.UserMessage;
+import org.kasarab.cs_demo.domain.UserSearchResponse;
+import org.kasarab.cs_demo.domain.UserSnapshotStats;
+import org.kasarab.cs_demo.domain.UserVersion;
+import org.kasarab.cs_demo.domain.UserWriteStatus;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.kasarab.cs_demo.service.analytics.UserAnalytics;
+import org.kasarab.cs_demo.service.cache.UserPageCache;
+import org.kasarab.cs_demo.service.impl.UserImportServiceImpl;
 import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.kasarab.cs_demo.service.utils.UserImportReader;
+import org.kasarab.cs_demo.service.utils.UserStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.USER_VERSION_MISMATCH_MSG;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/users")
 @CrossOrigin
 public class UsersController {
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * The body formats the converters can write, see {@link BinaryFormatsConfig}.
+     */
+    private static final List<MediaType> RESPONSE_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            MediaType.parseMediaType("application/x-jackson-smile")
+    );
+
+    private static final Pattern STRONG_VERSION_TAG = Pattern.compile("\"(\\d{1,18})\"");
+
     private final UserServiceImpl userService;
 
+    private final UserStreamWriter userStreamWriter;
+
+    private final UserImportServiceImpl userImportService;
+
+    private final UserImportReader userImportReader;
+
+    private final UserAnalytics userAnalytics;
+
+    private final UserPageCache userPageCache;
+
     @Autowired
-    public UsersController(UserServiceImpl userService) {
+    public UsersController(UserServiceImpl userService, UserStreamWriter userStreamWriter,
+                           UserImportServiceImpl userImportService, UserImportReader userImportReader,
+                           UserAnalytics userAnalytics, UserPageCache userPageCache) {
         this.userService = userService;
+        this.userStreamWriter = userStreamWriter;
+        this.userImportService = userImportService;
+        this.userImportReader = userImportReader;
+        this.userAnalytics = userAnalytics;
+        this.userPageCache = userPageCache;
     }
 
     @GetMapping("/")
@@ -36,37 +97,164 @@ public class UsersController {
         return new ResponseEntity<>(userList, HttpStatus.OK);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAllUsers(
+            @RequestParam(value = "format", defaultValue = "ndjson", required = false) String format
+    ) {
+        log.info("Export all users, format: {}", format);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = outputStream -> {
+            long exported = userStreamWriter.write(exportFormat, outputStream, userService::streamAll);
+            log.info("Exported {} users", exported);
+        };
+        return ResponseEntity.ok().contentType(exportFormat.getMediaType()).body(body);
+    }
+
     @GetMapping("/all/pagination")
-    public ResponseEntity<UserResponse> getAllUsersPagination(
+    public ResponseEntity<?> getAllUsersPagination(
             @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
-            @RequestParam(value = "pageSize", defaultValue = "5", required = false) int pageSize
+            @RequestParam(value = "pageSize", defaultValue = "5", required = false) int pageSize,
+            WebRequest request
     ) {
         log.info("Getting all users with mapper, page number: {}, page size: {}", pageNo, pageSize);
-        return new ResponseEntity<>(userService.getAllUsersPagination(pageNo, pageSize), HttpStatus.OK);
+        // before the page size becomes part of a page cache key
+        userService.checkPageSize(pageSize);
+        // held in memory between writes, so a 304 or a cached page runs no query;
+        // weak, so the same tag covers the compressed body and Tomcat may compress the response
+        String eTag = "W/" + userService.getListVersion().eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        if (userPageCache.isCacheable(pageSize) && acceptsGzip(request) && prefersJson(request)) {
+            byte[] page = userPageCache.getGzipped(pageNo, pageSize, eTag,
+                    () -> userService.getAllUsersPagination(pageNo, pageSize));
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .body(page);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(userService.getAllUsersPagination(pageNo, pageSize));
+    }
+
+    @GetMapping("/all/cursor")
+    public ResponseEntity<UserCursorResponse> getAllUsersCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "pageSize", defaultValue = "5", required = false) int pageSize,
+            @RequestParam(value = "withTotal", defaultValue = "false", required = false) boolean withTotal
+    ) {
+        log.info("Getting all users after cursor: {}, page size: {}", after, pageSize);
+        return new ResponseEntity<>(userService.getAllUsersAfter(after, pageSize, withTotal), HttpStatus.OK);
     }
 
     @PostMapping("/add")
     public ResponseEntity<?> addUser(@RequestBody @Valid UserDTO user) {
         log.info("Add user: {}", user);
+        if (userService.isWriteBehind()) {
+            UserWriteStatus status = userService.enqueueCreate(user);
+            log.info("User Successfully Queued");
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/users/writes/" + status.getTrackingId()))
+                    .body(status);
+        }
         userService.create(user);
         log.info("User Successfully Created");
-        return new ResponseEntity<>("User Successfully Created", HttpStatus.CREATED);
+        return new ResponseEntity<>(new UserMessage("User Successfully Created"), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/writes/{trackingId}")
+    public ResponseEntity<UserWriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        log.info("Get write status: {}", trackingId);
+        return new ResponseEntity<>(userService.getWriteStatus(trackingId), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportResponse> importUsers(InputStream body) throws IOException {
+        log.info("Import users from JSON");
+        return new ResponseEntity<>(userImportService.importUsers(userImportReader.readJson(body)), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<UserImportResponse> importUsersNdjson(InputStream body) {
+        log.info("Import users from NDJSON");
+        return new ResponseEntity<>(userImportService.importUsers(userImportReader.readNdjson(body)), HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<UserImportResponse> importUsersCsv(InputStream body) throws IOException {
+        log.info("Import users from CSV");
+        return new ResponseEntity<>(userImportService.importUsers(userImportReader.readCsv(body)), HttpStatus.OK);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<UserCacheStats> getCacheStats() {
+        log.info("Get user cache stats");
+        return new ResponseEntity<>(userService.getCacheStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/email-index/stats")
+    public ResponseEntity<EmailIndexStats> getEmailIndexStats() {
+        log.info("Get email index stats");
+        return new ResponseEntity<>(userService.getEmailIndexStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/analytics/birth-years")
+    public ResponseEntity<Map<Integer, Long>> countUsersByBirthYear() {
+        log.info("Count users by birth year");
+        return new ResponseEntity<>(userAnalytics.countByBirthYear(), HttpStatus.OK);
+    }
+
+    @GetMapping("/analytics/ages")
+    public ResponseEntity<Map<Integer, Long>> countUsersByAge(
+            @RequestParam(value = "bucket", defaultValue = "10", required = false) int bucket
+    ) {
+        log.info("Count users by age, bucket: {}", bucket);
+        return new ResponseEntity<>(userAnalytics.countByAge(bucket), HttpStatus.OK);
+    }
+
+    @GetMapping("/analytics/email-domains")
+    public ResponseEntity<Map<String, Long>> countUsersByEmailDomain(
+            @RequestParam(value = "limit", defaultValue = "20", required = false) int limit
+    ) {
+        log.info("Count users by email domain, limit: {}", limit);
+        return new ResponseEntity<>(userAnalytics.countByEmailDomain(limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/analytics/stats")
+    public ResponseEntity<UserSnapshotStats> getAnalyticsStats() {
+        log.info("Get user analytics snapshot stats");
+        return new ResponseEntity<>(userAnalytics.stats(), HttpStatus.OK);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<?> getUser(@PathVariable Long userId) {
+    public ResponseEntity<?> getUser(@PathVariable Long userId, WebRequest request) {
         log.info("Get user: {}", userId);
+        if (isConditional(request)) {
+            // answered from the cache or a version-only query, without loading and mapping the user
+            UserVersion version = userService.findVersionById(userId);
+            if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+                return null;
+            }
+        }
         UserDTO user = userService.findById(userId);
         log.info("User found: {}", user);
-        return new ResponseEntity<>(user, HttpStatus.OK);
+        return withVersion(ResponseEntity.ok(), user).body(user);
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<UserBatchResponse> getUsers(@RequestBody UserBatchRequest request) {
+        log.info("Get users: {}", request.getIds());
+        return new ResponseEntity<>(userService.findAllById(request.getIds()), HttpStatus.OK);
     }
 
     @PutMapping("/{userId}")
-    public ResponseEntity<?> updateUser(@PathVariable Long userId, @RequestBody @Valid UserDTO user) {
+    public ResponseEntity<?> updateUser(@PathVariable Long userId, @RequestBody @Valid UserDTO user,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Update user: {}", user);
-        userService.update(userId, user);
+        UserDTO updated = userService.update(userId, user, parseIfMatch(userId, ifMatch));
         log.info("User Successfully Updated");
-        return new ResponseEntity<>("User Successfully Updated", HttpStatus.OK);
+        return withVersion(ResponseEntity.ok(), updated).body(new UserMessage("User Successfully Updated"));
     }
 
     @DeleteMapping("/{userId}")
@@ -74,14 +262,125 @@ public class UsersController {
         log.info("Delete user: {}", userId);
         userService.delete(userId);
         log.info("User Successfully Deleted");
-        return new ResponseEntity<>("User Successfully Deleted from Database", HttpStatus.OK);
+        return new ResponseEntity<>(new UserMessage("User Successfully Deleted from Database"), HttpStatus.OK);
     }
 
     @GetMapping("/search")
     public ResponseEntity<?> searchAllUsersByBirthdate(@RequestParam @DateTimeFormat(pattern = "dd-MM-yyyy") LocalDate dateFrom,
                                                        @RequestParam @DateTimeFormat(pattern = "dd-MM-yyyy") LocalDate dateTo) {
-        log.info("Search all users by birthdate dateFrom: {}", dateFrom);
-        log.info("Search all users by birthdate dateTo: {}", dateTo);
+        log.info("Search all users by birthdate dateFrom: {}, dateTo: {}", dateFrom, dateTo);
         return new ResponseEntity<>(userService.findUsersByBirthday(dateFrom, dateTo), HttpStatus.OK);
     }
+
+    @GetMapping("/search/cursor")
+    public ResponseEntity<UserCursorResponse> searchUsersByBirthdateCursor(
+            @RequestParam @DateTimeFormat(pattern = "dd-MM-yyyy") LocalDate dateFrom,
+            @RequestParam @DateTimeFormat(pattern = "dd-MM-yyyy") LocalDate dateTo,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "pageSize", defaultValue = "5", required = false) int pageSize
+    ) {
+        log.info("Search users by birthdate dateFrom: {}, dateTo: {}, after cursor: {}", dateFrom, dateTo, after);
+        return new ResponseEntity<>(userService.findUsersByBirthdayAfter(dateFrom, dateTo, after, pageSize), HttpStatus.OK);
+    }
+
+    @GetMapping("/search/text")
+    public ResponseEntity<UserSearchResponse> searchUsersByText(
+            @RequestParam("q") String query,
+            @RequestParam(value = "fuzzy", defaultValue = "false", required = false) boolean fuzzy,
+            @RequestParam(value = "pageNo", defaultValue = "0", required = false) int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = "5", required = false) int pageSize
+    ) {
+        log.info("Search users by text: {}, fuzzy: {}, page number: {}, page size: {}", query, fuzzy, pageNo, pageSize);
+        return new ResponseEntity<>(userService.searchUsers(query, fuzzy, pageNo, pageSize), HttpStatus.OK);
+    }
+
+    @GetMapping("/search/export")
+    public ResponseEntity<StreamingResponseBody> exportUsersByBirthdate(
+            @RequestParam @DateTimeFormat(pattern = "dd-MM-yyyy") LocalDate dateFrom,
+            @RequestParam @DateTimeFormat(pattern = "dd-MM-yyyy") LocalDate dateTo,
+            @RequestParam(value = "format", defaultValue = "ndjson", required = false) String format
+    ) {
+        log.info("Export users by birthdate dateFrom: {}, dateTo: {}, format: {}", dateFrom, dateTo, format);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        UserServiceImpl.checkDateRange(dateFrom, dateTo);
+        StreamingResponseBody body = outputStream -> {
+            long exported = userStreamWriter.write(exportFormat, outputStream,
+                    action -> userService.streamUsersByBirthday(dateFrom, dateTo, action));
+            log.info("Exported {} users", exported);
+        };
+        return ResponseEntity.ok().contentType(exportFormat.getMediaType()).body(body);
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether content negotiation would answer JSON, the only format kept compressed; anything unusual is
+     * left to the regular negotiation.
+     */
+    private static boolean prefersJson(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            return mediaTypes.stream()
+                    .filter(mediaType -> mediaType.getQualityValue() > 0)
+                    .filter(mediaType -> RESPONSE_TYPES.stream().anyMatch(mediaType::isCompatibleWith))
+                    .findFirst()
+                    .map(mediaType -> mediaType.includes(MediaType.APPLICATION_JSON))
+                    .orElse(false);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static ResponseEntity.BodyBuilder withVersion(ResponseEntity.BodyBuilder builder, UserDTO user) {
+        UserVersion version = new UserVersion(user.getVersion(), user.getLastModified());
+        builder.eTag(version.eTag());
+        if (user.getLastModified() != null) {
+            builder.lastModified(user.getLastModified());
+        }
+        return builder;
+    }
+
+    /**
+     * The versions an {@code If-Match} header accepts, or {@code null} when absent or {@code *}. If-Match
+     * compares strongly, so weak tags match nothing; when no tag can match, the update fails with 412.
+     */
+    private static List<Long> parseIfMatch(Long userId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String eTag : ifMatch.split(",")) {
+            Matcher matcher = STRONG_VERSION_TAG.matcher(eTag.trim());
+            if (matcher.matches()) {
+                versions.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        if (versions.isEmpty()) {
+            log.error("No strong version in If-Match: {}", ifMatch);
+            throw new UserServiceException(String.format(USER_VERSION_MISMATCH_MSG, userId), HttpStatus.PRECONDITION_FAILED);
+        }
+        return versions;
+    }
 }
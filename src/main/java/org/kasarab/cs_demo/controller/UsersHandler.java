@@ -0,0 +1,126 @@
+package org.kasarab.cs_demo.controller;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.exceptions.ErrorMessage;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.kasarab.cs_demo.service.ReactiveUserService;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.REQUIRED_PARAMETER_MSG;
+import static org.kasarab.cs_demo.constant.ErrorMessages.USER_WITH_ID_NOT_FOUND_MSG;
+
+/**
+ * Handlers behind {@link UsersRouter}; responses match {@link UsersController}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UsersHandler {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private final ReactiveUserService userService;
+
+    @Autowired
+    public UsersHandler(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * JSON array or, with {@code Accept: application/x-ndjson}, one user per line; either way rows are
+     * read from the database as the response is written.
+     */
+    public Mono<ServerResponse> getAllUsers(ServerRequest request) {
+        log.info("Get all users");
+        return ServerResponse.ok().body(userService.findAll(), UserDTO.class);
+    }
+
+    public Mono<ServerResponse> getUser(ServerRequest request) {
+        return Mono.defer(() -> {
+            Long userId = userId(request);
+            log.info("Get user: {}", userId);
+            return userService.findById(userId).flatMap(user -> ServerResponse.ok().bodyValue(user));
+        });
+    }
+
+    public Mono<ServerResponse> addUser(ServerRequest request) {
+        log.info("Add user");
+        return request.bodyToMono(UserDTO.class)
+                .flatMap(userService::create)
+                .flatMap(user -> ServerResponse.status(HttpStatus.CREATED).bodyValue("User Successfully Created"));
+    }
+
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        return Mono.defer(() -> {
+            Long userId = userId(request);
+            log.info("Update user: {}", userId);
+            return request.bodyToMono(UserDTO.class)
+                    .flatMap(user -> userService.update(userId, user))
+                    .flatMap(user -> ServerResponse.ok().bodyValue("User Successfully Updated"));
+        });
+    }
+
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        return Mono.defer(() -> {
+            Long userId = userId(request);
+            log.info("Delete user: {}", userId);
+            return userService.delete(userId)
+                    .then(ServerResponse.ok().bodyValue("User Successfully Deleted from Database"));
+        });
+    }
+
+    public Mono<ServerResponse> searchAllUsersByBirthdate(ServerRequest request) {
+        return Mono.defer(() -> {
+            LocalDate dateFrom = date(request, "dateFrom");
+            LocalDate dateTo = date(request, "dateTo");
+            log.info("Search all users by birthdate dateFrom: {}, dateTo: {}", dateFrom, dateTo);
+            UserServiceImpl.checkDateRange(dateFrom, dateTo);
+            return ServerResponse.ok().body(userService.findUsersByBirthday(dateFrom, dateTo), UserDTO.class);
+        });
+    }
+
+    public Mono<ServerResponse> handleError(Throwable error, ServerRequest request) {
+        HttpStatus status = error instanceof UserServiceException e && e.getHttpStatus() != null
+                ? e.getHttpStatus()
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            log.error("An exception occurred: {}", error.getMessage(), error);
+        } else {
+            log.error("An exception occurred: {}", error.getMessage());
+        }
+        return ServerResponse.status(status).bodyValue(new ErrorMessage(error.getMessage(), status));
+    }
+
+    private static Long userId(ServerRequest request) {
+        String userId = request.pathVariable("userId");
+        try {
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            throw new UserServiceException(String.format(USER_WITH_ID_NOT_FOUND_MSG, userId), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    private static LocalDate date(ServerRequest request, String name) {
+        String value = request.queryParam(name).orElseThrow(() ->
+                new UserServiceException(String.format(REQUIRED_PARAMETER_MSG, name), HttpStatus.BAD_REQUEST));
+        try {
+            return LocalDate.parse(value, DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw new UserServiceException(String.format(REQUIRED_PARAMETER_MSG, name), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.kasarab.cs_demo.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * The Users API on WebFlux, active with the {@code reactive} profile in place of {@link UsersController}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class UsersRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> usersRoutes(UsersHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/users", builder -> builder
+                        .GET("/", handler::getAllUsers)
+                        .GET("/search", handler::searchAllUsersByBirthdate)
+                        .POST("/add", handler::addUser)
+                        .GET("/{userId}", handler::getUser)
+                        .PUT("/{userId}", handler::updateUser)
+                        .DELETE("/{userId}", handler::deleteUser))
+                .onError(Throwable.class, handler::handleError)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package org.kasarab.cs_demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EmailIndexStats {
+    private boolean ready;
+    private long memoryBytes;
+    private int hashFunctions;
+    private long insertions;
+    private long definitelyNewCount;
+    private long possibleHitCount;
+    private long falsePositiveCount;
+    private double expectedFalsePositiveRate;
+    private double observedFalsePositiveRate;
+}
@@ -0,0 +1,32 @@
+package org.kasarab.cs_demo.domain;
+
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.EXPORT_FORMAT_NOT_SUPPORTED_MSG;
+
+public enum ExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat of(String format) {
+        for (ExportFormat exportFormat : values()) {
+            if (exportFormat.name().equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new UserServiceException(String.format(EXPORT_FORMAT_NOT_SUPPORTED_MSG, format), HttpStatus.BAD_REQUEST);
+    }
+}
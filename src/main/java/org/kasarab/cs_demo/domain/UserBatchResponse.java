@@ -0,0 +1,16 @@
+package org.kasarab.cs_demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@JsonPropertyOrder({"users", "found", "notFound"})
+public class UserBatchResponse {
+    private List<UserBatchResult> users;
+    private int found;
+    private int notFound;
+}
@@ -0,0 +1,31 @@
+package org.kasarab.cs_demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonPropertyOrder({"id", "status", "user"})
+public class UserBatchResult {
+
+    public enum Status {
+        FOUND,
+        NOT_FOUND
+    }
+
+    private Long id;
+    private Status status;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserDTO user;
+
+    public static UserBatchResult found(Long id, UserDTO user) {
+        return new UserBatchResult(id, Status.FOUND, user);
+    }
+
+    public static UserBatchResult notFound(Long id) {
+        return new UserBatchResult(id, Status.NOT_FOUND, null);
+    }
+}
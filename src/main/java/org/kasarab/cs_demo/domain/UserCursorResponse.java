@@ -0,0 +1,21 @@
+package org.kasarab.cs_demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@JsonPropertyOrder({"users", "pageSize", "nextCursor", "last", "totalElements"})
+public class UserCursorResponse {
+    private List<UserDTO> users;
+    private int pageSize;
+    private String nextCursor;
+    private boolean last;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+}
@@ -1,6 +1,8 @@
 package org.kasarab.cs_demo.domain;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -9,12 +11,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonPropertyOrder({"firstname", "lastname", "birthdate", "email", "address", "phoneNumber"})
 public class UserDTO {
 
     @Valid
@@ -38,4 +42,13 @@ public class UserDTO {
     private String address;
 
     private String phoneNumber;
+
+    /**
+     * Sent as the ETag and Last-Modified headers rather than in the body.
+     */
+    @JsonIgnore
+    private long version;
+
+    @JsonIgnore
+    private Instant lastModified;
 }
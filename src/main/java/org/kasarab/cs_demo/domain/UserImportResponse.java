@@ -0,0 +1,15 @@
+package org.kasarab.cs_demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UserImportResponse {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<UserImportResult> results;
+}
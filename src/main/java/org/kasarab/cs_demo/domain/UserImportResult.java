@@ -0,0 +1,29 @@
+package org.kasarab.cs_demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserImportResult {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private int row;
+    private Status status;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String message;
+
+    public static UserImportResult created(int row) {
+        return new UserImportResult(row, Status.CREATED, null);
+    }
+
+    public static UserImportResult rejected(int row, String message) {
+        return new UserImportResult(row, Status.REJECTED, message);
+    }
+}
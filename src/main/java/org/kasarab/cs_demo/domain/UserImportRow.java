@@ -0,0 +1,15 @@
+package org.kasarab.cs_demo.domain;
+
+/**
+ * One row of an import upload: the user read from it, or why it could not be read.
+ */
+public record UserImportRow(UserDTO user, String error) {
+
+    public static UserImportRow of(UserDTO user) {
+        return new UserImportRow(user, null);
+    }
+
+    public static UserImportRow notReadable(String error) {
+        return new UserImportRow(null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package org.kasarab.cs_demo.domain;
+
+/**
+ * Changes whenever any user is created (count, max id), updated (version sum) or deleted (count).
+ */
+public record UserListVersion(Long count, Long maxId, Long versionSum) {
+
+    public String eTag() {
+        return "\"" + count + "-" + maxId + "-" + versionSum + "\"";
+    }
+}
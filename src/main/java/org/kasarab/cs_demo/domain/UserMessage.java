@@ -0,0 +1,7 @@
+package org.kasarab.cs_demo.domain;
+
+/**
+ * Outcome of a write, as an object so it is written in whatever format the client accepts.
+ */
+public record UserMessage(String message) {
+}
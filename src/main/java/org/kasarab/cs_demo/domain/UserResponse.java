@@ -1,5 +1,6 @@
 package org.kasarab.cs_demo.domain;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,6 +8,7 @@ import java.util.List;
 
 @Data
 @AllArgsConstructor
+@JsonPropertyOrder({"users", "pageNo", "pageSize", "totalElements", "totalPages", "last"})
 public class UserResponse {
     private List<UserDTO> users;
     private int pageNo;
@@ -0,0 +1,17 @@
+package org.kasarab.cs_demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@JsonPropertyOrder({"users", "pageNo", "pageSize", "last"})
+public class UserSearchResponse {
+    private List<UserDTO> users;
+    private int pageNo;
+    private int pageSize;
+    private boolean last;
+}
@@ -0,0 +1,16 @@
+package org.kasarab.cs_demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class UserSnapshotStats {
+    private int users;
+    private long memoryBytes;
+    private int emailDomains;
+    private Instant builtAt;
+    private long buildMillis;
+}
@@ -0,0 +1,17 @@
+package org.kasarab.cs_demo.domain;
+
+import java.time.Instant;
+
+/**
+ * Version-only view of a user, enough to answer conditional requests without loading the row.
+ */
+public record UserVersion(Long version, Instant lastModified) {
+
+    public String eTag() {
+        return "\"" + version + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+}
@@ -0,0 +1,32 @@
+package org.kasarab.cs_demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserWriteStatus {
+
+    public enum State {
+        PENDING, CREATED, FAILED
+    }
+
+    private String trackingId;
+    private State state;
+    private Long userId;
+    private String message;
+
+    public static UserWriteStatus pending(String trackingId) {
+        return new UserWriteStatus(trackingId, State.PENDING, null, null);
+    }
+
+    public static UserWriteStatus created(String trackingId, Long userId) {
+        return new UserWriteStatus(trackingId, State.CREATED, userId, null);
+    }
+
+    public static UserWriteStatus failed(String trackingId, String message) {
+        return new UserWriteStatus(trackingId, State.FAILED, null, message);
+    }
+}
@@ -3,8 +3,12 @@ package org.kasarab.cs_demo.entity;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
@@ -14,13 +18,24 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@Table(name = "users", indexes = @Index(name = "idx_users_birthdate_id", columnList = "birthdate, id"))
 public class User {
 
+    /**
+     * Ids handed out per sequence call; must match the sequence increment set by the V2 migration.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    public static final String CACHE_REGION = "users";
+
+    public static final String QUERY_CACHE_REGION = "user-queries";
+
     @Id
     @Column(name = "id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_sequence")
-    @SequenceGenerator(name = "user_id_sequence", sequenceName = "user_id_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "user_id_sequence", sequenceName = "user_id_sequence", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "firstname", nullable = false)
@@ -42,4 +57,15 @@ public class User {
     @Column(name = "phoneNumber")
     private String phoneNumber;
 
+    /**
+     * Primitive, so Spring Data still decides new vs existing by the id.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
 }
@@ -0,0 +1,50 @@
+package org.kasarab.cs_demo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * R2DBC mapping of the {@code users} table used by the reactive stack; {@link User} is the JPA mapping.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("users")
+public class UserRow {
+
+    @Id
+    private Long id;
+
+    private String firstname;
+
+    private String lastname;
+
+    private LocalDate birthdate;
+
+    private String email;
+
+    private String address;
+
+    @Column("phone_number")
+    private String phoneNumber;
+
+    /**
+     * {@code null} marks a row that has not been inserted yet, since ids are assigned before saving;
+     * rows written by JPA start at zero.
+     */
+    @Version
+    private Long version;
+
+    @Column("last_modified")
+    private Instant lastModified;
+}
@@ -3,9 +3,11 @@ package org.kasarab.cs_demo.exceptions;
 import jakarta.validation.ConstraintViolationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.crossstore.ChangeSetPersister;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,7 +16,10 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import static org.kasarab.cs_demo.constant.ErrorMessages.USER_VERSION_MISMATCH_MSG;
+
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ServerExceptionHandler {
 
     private static final Logger log = LogManager.getLogger();
@@ -23,49 +28,51 @@ public class ServerExceptionHandler {
     public ResponseEntity<?> handleExceptions(Exception ex, WebRequest request) {
         log.error("An exception occurred: {}", ex.getMessage(), ex);
         ErrorMessage errorMessage = new ErrorMessage(ex.getLocalizedMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
-        log.error("An exception occurred: {}", errorMessage);
         return new ResponseEntity<>(errorMessage, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler(value = UserServiceException.class)
     public ResponseEntity<Object> handleServerException(UserServiceException ex, WebRequest request) {
-        log.error("An exception occurred: {}", ex.getMessage(), ex);
+        log.error("An exception occurred: {}", ex.getMessage());
         ErrorMessage errorMessage = new ErrorMessage(ex.getMessage(), ex.getHttpStatus());
-        log.error("An exception occurred: {}", errorMessage);
         return new ResponseEntity<>(errorMessage, ex.getHttpStatus());
     }
 
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingException(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        log.error("An exception occurred: {}", ex.getMessage());
+        ErrorMessage errorMessage = new ErrorMessage(
+                String.format(USER_VERSION_MISMATCH_MSG, ex.getIdentifier()), HttpStatus.CONFLICT);
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(value = NoHandlerFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<Object> handleServerException(NoHandlerFoundException ex, WebRequest request) {
-        log.error("An exception occurred: {}", ex.getMessage(), ex);
+        log.error("An exception occurred: {}", ex.getMessage());
         ErrorMessage errorMessage = new ErrorMessage(ex.getMessage(), HttpStatus.NOT_FOUND);
-        log.error("An exception occurred: {}", errorMessage);
         return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(value = ResponseStatusException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<?> handleResponseStatusException(ResponseStatusException ex, WebRequest request) {
-        log.error("An exception occurred: {}", ex.getMessage(), ex);
+        log.error("An exception occurred: {}", ex.getMessage());
         ErrorMessage errorMessage = new ErrorMessage(ex.getLocalizedMessage(), HttpStatus.NOT_FOUND);
-        log.error("An exception occurred: {}", errorMessage);
         return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        log.error("An exception occurred: {}", ex.getMessage(), ex);
+        log.error("An exception occurred: {}", ex.getMessage());
         ErrorMessage errorMessage = new ErrorMessage(ex.getBindingResult().getFieldError().getDefaultMessage(), HttpStatus.BAD_REQUEST);
-        log.error("An exception occurred: {}", errorMessage);
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Object> handleConstraintViolationExceptions(ConstraintViolationException ex) {
-        log.error("An exception occurred: {}", ex.getMessage(), ex);
+        log.error("An exception occurred: {}", ex.getMessage());
         ErrorMessage errorMessage = new ErrorMessage(ex.getConstraintViolations().iterator().next().getMessage(), HttpStatus.BAD_REQUEST);
-        log.error("An exception occurred: {}", errorMessage);
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
@@ -0,0 +1,76 @@
+package org.kasarab.cs_demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timers for the controller, repository and mapper hot paths. Each timer is built once per method and
+ * reused, so recording costs a map lookup and a histogram update; when disabled nothing is recorded.
+ */
+@Component
+public class HotPathMetrics {
+
+    public static final String HTTP_METRIC = "users.http.requests";
+    public static final String REPOSITORY_METRIC = "users.repository.queries";
+    public static final String MAPPER_METRIC = "users.mapper.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, Timer> httpTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> repositoryTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> mapperTimers = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    @Autowired
+    public HotPathMetrics(MeterRegistry meterRegistry, @Value("${user.metrics.enabled}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Timer httpTimer(Method method) {
+        return httpTimers.computeIfAbsent(method, m -> timer(HTTP_METRIC, "endpoint", m.getName()));
+    }
+
+    public Timer repositoryTimer(Method method) {
+        return repositoryTimers.computeIfAbsent(method, m -> timer(REPOSITORY_METRIC, "method", signature(m)));
+    }
+
+    public Timer mapperTimer(Method method) {
+        return mapperTimers.computeIfAbsent(method, m -> timer(MAPPER_METRIC, "method", m.getName()));
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tells overloads apart, e.g. {@code findAll()} and {@code findAll(Pageable)}.
+     */
+    private static String signature(Method method) {
+        StringBuilder signature = new StringBuilder(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            signature.append(i == 0 ? "" : ",").append(parameterTypes[i].getSimpleName());
+        }
+        return signature.append(')').toString();
+    }
+}
@@ -0,0 +1,56 @@
+package org.kasarab.cs_demo.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+public class HotPathMetricsAspect {
+
+    private final HotPathMetrics metrics;
+
+    @Autowired
+    public HotPathMetricsAspect(HotPathMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Around("within(org.kasarab.cs_demo.controller..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeEndpoint(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!metrics.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        return time(joinPoint, metrics.httpTimer(((MethodSignature) joinPoint.getSignature()).getMethod()));
+    }
+
+    @Around("this(org.kasarab.cs_demo.repository.UserRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!metrics.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        return time(joinPoint, metrics.repositoryTimer(((MethodSignature) joinPoint.getSignature()).getMethod()));
+    }
+
+    @Around("execution(* org.kasarab.cs_demo.service.mapper.UserMapper+.*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!metrics.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        return time(joinPoint, metrics.mapperTimer(((MethodSignature) joinPoint.getSignature()).getMethod()));
+    }
+
+    private static Object time(ProceedingJoinPoint joinPoint, Timer timer) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.kasarab.cs_demo.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/hotpathmetrics} shows whether hot-path timers record;
+ * {@code POST /actuator/hotpathmetrics {"enabled": false}} switches them at runtime.
+ */
+@Component
+@Endpoint(id = "hotpathmetrics")
+public class HotPathMetricsEndpoint {
+
+    private final HotPathMetrics metrics;
+
+    @Autowired
+    public HotPathMetricsEndpoint(HotPathMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @ReadOperation
+    public Map<String, Boolean> status() {
+        return Map.of("enabled", metrics.isEnabled());
+    }
+
+    @WriteOperation
+    public Map<String, Boolean> toggle(boolean enabled) {
+        metrics.setEnabled(enabled);
+        return status();
+    }
+}
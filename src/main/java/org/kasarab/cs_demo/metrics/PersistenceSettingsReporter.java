@@ -0,0 +1,105 @@
+package org.kasarab.cs_demo.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Logs the connection pool, driver and Hibernate settings in effect once the application is up, and warns
+ * about the ones left at a default that costs throughput in production (see the {@code perf} profile).
+ */
+@Component
+public class PersistenceSettingsReporter {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final List<String> HIBERNATE_SETTINGS = List.of(
+            "hibernate.jdbc.batch_size",
+            "hibernate.order_inserts",
+            "hibernate.order_updates",
+            "hibernate.show_sql",
+            "hibernate.format_sql"
+    );
+
+    private static final List<String> DRIVER_SETTINGS = List.of(
+            "prepareThreshold",
+            "preparedStatementCacheQueries",
+            "preparedStatementCacheSizeMiB",
+            "reWriteBatchedInserts"
+    );
+
+    private final DataSource dataSource;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public PersistenceSettingsReporter(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        Map<String, Object> settings = settings();
+        log.info("Persistence settings: {}", settings);
+
+        if (Boolean.parseBoolean(String.valueOf(settings.get("hibernate.show_sql")))) {
+            log.warn("hibernate.show_sql is on: every statement is printed to stdout");
+        }
+        if (settings.get("hibernate.jdbc.batch_size") == null) {
+            log.warn("hibernate.jdbc.batch_size is not set: multi-row writes go to the database one statement at a time");
+        }
+        if (!Objects.equals(settings.get("pool.minimumIdle"), settings.get("pool.maximumPoolSize"))) {
+            log.warn("Connection pool is not fixed-size ({} idle of {}): bursts pay for opening connections",
+                    settings.get("pool.minimumIdle"), settings.get("pool.maximumPoolSize"));
+        }
+        if (isPostgres(settings) && !"true".equals(String.valueOf(settings.get("driver.reWriteBatchedInserts")))
+                && !String.valueOf(settings.get("pool.jdbcUrl")).contains("reWriteBatchedInserts=true")) {
+            log.warn("reWriteBatchedInserts is off: batched inserts are sent as single-row statements");
+        }
+    }
+
+    /**
+     * The effective values, {@code null} where nothing was configured and the library default applies.
+     */
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                settings.put("pool.jdbcUrl", hikari.getJdbcUrl());
+                settings.put("pool.maximumPoolSize", hikari.getMaximumPoolSize());
+                settings.put("pool.minimumIdle", hikari.getMinimumIdle());
+                settings.put("pool.connectionTimeoutMs", hikari.getConnectionTimeout());
+                Properties driverProperties = hikari.getDataSourceProperties();
+                for (String name : DRIVER_SETTINGS) {
+                    settings.put("driver." + name, driverProperties.getProperty(name));
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Could not read connection pool settings: {}", e.getMessage());
+        }
+        Map<String, Object> properties = entityManagerFactory.getProperties();
+        for (String name : HIBERNATE_SETTINGS) {
+            settings.put(name, properties.get(name));
+        }
+        return settings;
+    }
+
+    private static boolean isPostgres(Map<String, Object> settings) {
+        return String.valueOf(settings.get("pool.jdbcUrl")).startsWith("jdbc:postgresql:");
+    }
+}
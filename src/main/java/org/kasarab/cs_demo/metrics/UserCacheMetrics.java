@@ -0,0 +1,42 @@
+package org.kasarab.cs_demo.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.kasarab.cs_demo.service.cache.UserCache;
+import org.kasarab.cs_demo.service.index.EmailIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the user cache and email index counters, read lazily when the registry is scraped.
+ */
+@Component
+public class UserCacheMetrics implements MeterBinder {
+
+    private final UserCache userCache;
+
+    private final EmailIndex emailIndex;
+
+    @Autowired
+    public UserCacheMetrics(UserCache userCache, EmailIndex emailIndex) {
+        this.userCache = userCache;
+        this.emailIndex = emailIndex;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("users.cache.size", userCache, cache -> cache.stats().getSize()).register(registry);
+        FunctionCounter.builder("users.cache.requests", userCache, cache -> cache.stats().getHitCount())
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("users.cache.requests", userCache, cache -> cache.stats().getMissCount())
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("users.cache.evictions", userCache, cache -> cache.stats().getEvictionCount())
+                .register(registry);
+        Gauge.builder("users.email.index.memory", emailIndex, index -> index.stats().getMemoryBytes())
+                .baseUnit("bytes").register(registry);
+        FunctionCounter.builder("users.email.index.false.positives", emailIndex,
+                index -> index.stats().getFalsePositiveCount()).register(registry);
+    }
+}
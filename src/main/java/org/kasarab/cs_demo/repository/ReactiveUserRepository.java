@@ -0,0 +1,30 @@
+package org.kasarab.cs_demo.repository;
+
+import org.kasarab.cs_demo.entity.UserRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Long> {
+
+   /**
+    * One id from the sequence JPA allocates from. JPA uses each value as the low end of a block of
+    * {@link org.kasarab.cs_demo.entity.User#ID_ALLOCATION_SIZE}, so taking a single value never collides.
+    */
+   @Query("select nextval('user_id_sequence')")
+   Mono<Long> nextId();
+
+   Mono<Boolean> existsByEmail(String email);
+
+   @Query("select * from users order by id")
+   Flux<UserRow> findAllOrderById();
+
+   @Query("select * from users where birthdate between :dateFrom and :dateTo order by birthdate, id")
+   Flux<UserRow> findByBirthdateBetween(LocalDate dateFrom, LocalDate dateTo);
+
+}
@@ -1,22 +1,169 @@
 package org.kasarab.cs_demo.repository;
 
+import jakarta.persistence.QueryHint;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserListVersion;
+import org.kasarab.cs_demo.domain.UserVersion;
 import org.kasarab.cs_demo.entity.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+   String STREAM_FETCH_SIZE = "1000";
+
+   /**
+    * Builds {@link UserDTO}s straight from the selected columns: no managed entities, no dirty-checking
+    * snapshots and no mapping step. Queries using it run in their own read-only transaction (flush mode
+    * manual), so callers waiting on the same query hold no connection.
+    */
+   String USER_DTO = """
+           new org.kasarab.cs_demo.domain.UserDTO(u.firstname, u.lastname, u.birthdate, u.email, u.address,
+                                                  u.phoneNumber, u.version, u.lastModified)""";
+
+   @QueryHints({
+           @QueryHint(name = HINT_CACHEABLE, value = "true"),
+           @QueryHint(name = HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+   })
    Optional<User> findByFirstname(String firstname);
 
+   @QueryHints({
+           @QueryHint(name = HINT_CACHEABLE, value = "true"),
+           @QueryHint(name = HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+   })
    Optional<User> findByLastname(String lastname);
 
+   @Query("select " + USER_DTO + " from User u where u.firstname = :firstname")
+   @QueryHints({
+           @QueryHint(name = HINT_CACHEABLE, value = "true"),
+           @QueryHint(name = HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+   })
+   @Transactional(readOnly = true)
+   Optional<UserDTO> findDtoByFirstname(@Param("firstname") String firstname);
+
+   @Query("select " + USER_DTO + " from User u where u.lastname = :lastname")
+   @QueryHints({
+           @QueryHint(name = HINT_CACHEABLE, value = "true"),
+           @QueryHint(name = HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+   })
+   @Transactional(readOnly = true)
+   Optional<UserDTO> findDtoByLastname(@Param("lastname") String lastname);
+
+   @Query("select " + USER_DTO + " from User u")
+   @Transactional(readOnly = true)
+   List<UserDTO> findAllDtos();
+
+   @Query(value = "select " + USER_DTO + " from User u", countQuery = "select count(u) from User u")
+   @Transactional(readOnly = true)
+   Page<UserDTO> findDtoPage(Pageable pageable);
+
    boolean existsByEmail(String email);
 
+   @Query("select new org.kasarab.cs_demo.domain.UserVersion(u.version, u.lastModified) from User u where u.id = :id")
+   Optional<UserVersion> findVersionById(@Param("id") Long id);
+
+   @Query("""
+           select new org.kasarab.cs_demo.domain.UserListVersion(count(u), coalesce(max(u.id), 0L), coalesce(sum(u.version), 0L))
+           from User u""")
+   UserListVersion findListVersion();
+
+   @Query("select u.email from User u")
+   @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+   Stream<String> streamAllEmails();
+
+   @Query("select u.email from User u where u.email in :emails")
+   Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+   /**
+    * Not query-cached: a range can match any number of users, and the query cache region is bounded by
+    * entry count, so one wide range would hold the whole table in a single entry.
+    */
    List<User> findByBirthdateBetween(LocalDate dateFrom, LocalDate dateTo);
 
+   /**
+    * Not query-cached, like {@link #findByBirthdateBetween}.
+    */
+   @Query("select " + USER_DTO + " from User u where u.birthdate between :dateFrom and :dateTo")
+   @Transactional(readOnly = true)
+   List<UserDTO> findDtosByBirthdateBetween(@Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo);
+
+   @Query("select u from User u where u.birthdate between :dateFrom and :dateTo order by u.birthdate, u.id")
+   List<User> findPageByBirthdateBetween(@Param("dateFrom") LocalDate dateFrom,
+                                         @Param("dateTo") LocalDate dateTo,
+                                         Pageable pageable);
+
+   /**
+    * Keyset page over the (birthdate, id) index, starting after the given row.
+    */
+   @Query("""
+           select u from User u
+           where u.birthdate between :dateFrom and :dateTo
+             and (u.birthdate > :afterBirthdate or (u.birthdate = :afterBirthdate and u.id > :afterId))
+           order by u.birthdate, u.id""")
+   List<User> findNextByBirthdateBetween(@Param("dateFrom") LocalDate dateFrom,
+                                         @Param("dateTo") LocalDate dateTo,
+                                         @Param("afterBirthdate") LocalDate afterBirthdate,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+   @Query("select u from User u where u.birthdate between :dateFrom and :dateTo order by u.birthdate, u.id")
+   @QueryHints({
+           @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+           @QueryHint(name = HINT_READ_ONLY, value = "true"),
+           // a full scan would otherwise flush every hot entry out of the second-level cache
+           @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+   })
+   Stream<User> streamByBirthdateBetween(@Param("dateFrom") LocalDate dateFrom, @Param("dateTo") LocalDate dateTo);
+
+   /**
+    * Keyset page: seeks on the primary key index instead of skipping rows with OFFSET.
+    */
+   List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+   /**
+    * Forward-only cursor over the whole table. Must be consumed inside a transaction and closed afterwards.
+    */
+   @Query("select u from User u order by u.id")
+   @QueryHints({
+           @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+           @QueryHint(name = HINT_READ_ONLY, value = "true"),
+           @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+   })
+   Stream<User> streamAll();
+
+   /**
+    * Only the columns the analytics snapshot keeps, as (birthdate, email) pairs; no entities are created.
+    */
+   @Query("select u.birthdate, u.email from User u")
+   @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+   Stream<Object[]> streamBirthdatesAndEmails();
+
+   /**
+    * The searchable columns as (id, firstname, lastname, email) rows for the search index.
+    */
+   @Query("select u.id, u.firstname, u.lastname, u.email from User u")
+   @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+   Stream<Object[]> streamSearchTerms();
+
 }
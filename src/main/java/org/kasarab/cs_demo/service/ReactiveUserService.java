@@ -0,0 +1,28 @@
+package org.kasarab.cs_demo.service;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of {@link UserService} for the {@code reactive} profile.
+ */
+public interface ReactiveUserService {
+
+    Mono<UserDTO> create(UserDTO user);
+
+    Mono<UserDTO> update(Long userId, UserDTO user);
+
+    Mono<Void> delete(Long userId);
+
+    Mono<UserDTO> findById(Long userId);
+
+    Mono<Boolean> existsByEmail(String email);
+
+    Flux<UserDTO> findAll();
+
+    Flux<UserDTO> findUsersByBirthday(LocalDate dateFrom, LocalDate dateTo);
+
+}
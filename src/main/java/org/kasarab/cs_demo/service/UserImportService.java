@@ -0,0 +1,11 @@
+package org.kasarab.cs_demo.service;
+
+import org.kasarab.cs_demo.domain.UserImportResponse;
+import org.kasarab.cs_demo.domain.UserImportRow;
+
+import java.util.Iterator;
+
+public interface UserImportService {
+
+    UserImportResponse importUsers(Iterator<UserImportRow> rows);
+}
@@ -1,12 +1,22 @@
 package org.kasarab.cs_demo.service;
 
 
+import org.kasarab.cs_demo.domain.EmailIndexStats;
+import org.kasarab.cs_demo.domain.UserBatchResponse;
+import org.kasarab.cs_demo.domain.UserCacheStats;
+import org.kasarab.cs_demo.domain.UserCursorResponse;
 import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserListVersion;
 import org.kasarab.cs_demo.domain.UserResponse;
+import org.kasarab.cs_demo.domain.UserSearchResponse;
+import org.kasarab.cs_demo.domain.UserVersion;
+import org.kasarab.cs_demo.domain.UserWriteStatus;
 import org.kasarab.cs_demo.entity.User;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -14,12 +24,24 @@ public interface UserService {
 
     UserDTO create(UserDTO user);
 
+    UserWriteStatus enqueueCreate(UserDTO user);
+
+    UserWriteStatus getWriteStatus(String trackingId);
+
     UserDTO update(Long userId, UserDTO user);
 
+    UserDTO update(Long userId, UserDTO user, Collection<Long> expectedVersions);
+
     void delete(Long userId);
 
     UserDTO findById(Long id);
 
+    UserBatchResponse findAllById(List<Long> ids);
+
+    UserVersion findVersionById(Long id);
+
+    UserListVersion getListVersion();
+
     UserDTO findByFirstname(String firstname);
 
     UserDTO findByLastname(String lastname);
@@ -28,9 +50,23 @@ public interface UserService {
 
     List<UserDTO> findAll();
 
+    long streamAll(Consumer<UserDTO> action);
+
     List<UserDTO> findUsersByBirthday(LocalDate dateFrom, LocalDate dateTo);
 
+    UserCursorResponse findUsersByBirthdayAfter(LocalDate dateFrom, LocalDate dateTo, String after, int pageSize);
+
+    long streamUsersByBirthday(LocalDate dateFrom, LocalDate dateTo, Consumer<UserDTO> action);
+
     boolean checkUserAge(LocalDate date);
 
     UserResponse getAllUsersPagination(int pageNo, int pageSize);
+
+    UserCursorResponse getAllUsersAfter(String after, int pageSize, boolean withTotal);
+
+    UserSearchResponse searchUsers(String query, boolean fuzzy, int pageNo, int pageSize);
+
+    UserCacheStats getCacheStats();
+
+    EmailIndexStats getEmailIndexStats();
 }
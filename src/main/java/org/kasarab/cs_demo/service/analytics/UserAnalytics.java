@@ -0,0 +1,95 @@
+package org.kasarab.cs_demo.service.analytics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kasarab.cs_demo.domain.UserSnapshotStats;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.ANALYTICS_LIMIT_MSG;
+
+/**
+ * Serves reports from a {@link UserSnapshot} rebuilt every {@code user.analytics.refresh-interval}.
+ * The new snapshot replaces the old one in a single volatile write, so readers never block and always
+ * see a consistent table; results lag writes by at most one refresh.
+ */
+@Component
+public class UserAnalytics {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final UserRepository userRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile UserSnapshot snapshot = UserSnapshot.empty();
+
+    private volatile long lastBuildMillis;
+
+    @Autowired
+    public UserAnalytics(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Scheduled(initialDelayString = "${user.analytics.initial-delay}", fixedDelayString = "${user.analytics.refresh-interval}")
+    public void refresh() {
+        log.info("Refreshing user analytics snapshot");
+        long start = System.nanoTime();
+        UserSnapshot refreshed = transactionTemplate.execute(status -> {
+            UserSnapshot.Builder builder = new UserSnapshot.Builder(Math.toIntExact(userRepository.count()));
+            try (Stream<Object[]> rows = userRepository.streamBirthdatesAndEmails()) {
+                rows.forEach(row -> builder.add((LocalDate) row[0], (String) row[1]));
+            }
+            return builder.build(Instant.now());
+        });
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        snapshot = refreshed;
+        log.info("User analytics snapshot ready: {} users, {} bytes, {} ms",
+                refreshed.size(), refreshed.memoryBytes(), lastBuildMillis);
+    }
+
+    public Map<Integer, Long> countByBirthYear() {
+        return snapshot.countByBirthYear();
+    }
+
+    public Map<Integer, Long> countByAge(int bucketYears) {
+        checkLimit(bucketYears);
+        return snapshot.countByAge(LocalDate.now(), bucketYears);
+    }
+
+    public Map<String, Long> countByEmailDomain(int limit) {
+        checkLimit(limit);
+        return snapshot.countByEmailDomain(limit);
+    }
+
+    public UserSnapshotStats stats() {
+        UserSnapshot current = snapshot;
+        return new UserSnapshotStats(
+                current.size(),
+                current.memoryBytes(),
+                current.domainCount(),
+                current.builtAt(),
+                lastBuildMillis
+        );
+    }
+
+    private static void checkLimit(int value) {
+        if (value < 1) {
+            log.error(ANALYTICS_LIMIT_MSG);
+            throw new UserServiceException(ANALYTICS_LIMIT_MSG, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
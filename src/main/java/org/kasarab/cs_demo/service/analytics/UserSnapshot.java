@@ -0,0 +1,244 @@
+package org.kasarab.cs_demo.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, column-per-attribute copy of the users table kept outside the Java heap.
+ * <p>
+ * Row {@code i} is the {@code i}-th int of every column: birthdates as epoch days, email domains as codes
+ * into a small on-heap dictionary. Four bytes per user per column, no objects per row, and aggregations
+ * are sequential scans over direct memory.
+ */
+public final class UserSnapshot {
+
+    private static final UserSnapshot EMPTY = new Builder(0).build(null);
+
+    private final int size;
+
+    private final IntBuffer birthdates;
+
+    private final IntBuffer emailDomains;
+
+    private final String[] domainDictionary;
+
+    private final int minEpochDay;
+
+    private final int maxEpochDay;
+
+    private final Instant builtAt;
+
+    private UserSnapshot(int size, IntBuffer birthdates, IntBuffer emailDomains, String[] domainDictionary,
+                         int minEpochDay, int maxEpochDay, Instant builtAt) {
+        this.size = size;
+        this.birthdates = birthdates;
+        this.emailDomains = emailDomains;
+        this.domainDictionary = domainDictionary;
+        this.minEpochDay = minEpochDay;
+        this.maxEpochDay = maxEpochDay;
+        this.builtAt = builtAt;
+    }
+
+    public static UserSnapshot empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public int domainCount() {
+        return domainDictionary.length;
+    }
+
+    /**
+     * Off-heap bytes held by the columns.
+     */
+    public long memoryBytes() {
+        return (long) birthdates.capacity() * Integer.BYTES + (long) emailDomains.capacity() * Integer.BYTES;
+    }
+
+    /**
+     * Users per birth year, in year order.
+     */
+    public Map<Integer, Long> countByBirthYear() {
+        Map<Integer, Long> result = new TreeMap<>();
+        if (size == 0) {
+            return result;
+        }
+        int firstYear = LocalDate.ofEpochDay(minEpochDay).getYear();
+        int lastYear = LocalDate.ofEpochDay(maxEpochDay).getYear();
+        // yearStarts[i] is the first epoch day of firstYear + i; rows are placed by binary search
+        int[] yearStarts = new int[lastYear - firstYear + 1];
+        for (int i = 0; i < yearStarts.length; i++) {
+            yearStarts[i] = (int) LocalDate.of(firstYear + i, 1, 1).toEpochDay();
+        }
+        long[] counts = new long[yearStarts.length];
+        for (int row = 0; row < size; row++) {
+            counts[floorIndex(yearStarts, birthdates.get(row))]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(firstYear + i, counts[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Users per age bucket on {@code today}, keyed by the bucket's lowest age; ages as in {@code Period.between}.
+     */
+    public Map<Integer, Long> countByAge(LocalDate today, int bucketYears) {
+        Map<Integer, Long> result = new TreeMap<>();
+        if (size == 0) {
+            return result;
+        }
+        int oldest = Math.max(0, today.getYear() - LocalDate.ofEpochDay(minEpochDay).getYear());
+        // someone is at least `age` years old iff born on or before today.minusYears(age);
+        // cutoffs are stored ascending (oldest age first) so the same floor search applies
+        int[] cutoffs = new int[oldest + 1];
+        for (int age = 0; age <= oldest; age++) {
+            cutoffs[oldest - age] = (int) today.minusYears(age).toEpochDay();
+        }
+        long[] counts = new long[oldest + 1];
+        for (int row = 0; row < size; row++) {
+            int birthdate = birthdates.get(row);
+            int index = ceilingIndex(cutoffs, birthdate);
+            if (index < cutoffs.length) {
+                counts[oldest - index]++;
+            }
+        }
+        for (int age = 0; age < counts.length; age++) {
+            if (counts[age] > 0) {
+                result.merge(age - age % bucketYears, counts[age], Long::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The {@code limit} most common email domains with their user counts, most common first.
+     */
+    public Map<String, Long> countByEmailDomain(int limit) {
+        long[] counts = new long[domainDictionary.length];
+        for (int row = 0; row < size; row++) {
+            counts[emailDomains.get(row)]++;
+        }
+        Integer[] codes = new Integer[counts.length];
+        for (int code = 0; code < codes.length; code++) {
+            codes[code] = code;
+        }
+        Arrays.sort(codes, (a, b) -> Long.compare(counts[b], counts[a]));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(limit, codes.length); i++) {
+            result.put(domainDictionary[codes[i]], counts[codes[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Index of the greatest element {@code <= key}; {@code sorted[0] <= key} is assumed.
+     */
+    private static int floorIndex(int[] sorted, int key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Index of the smallest element {@code >= key}, or {@code sorted.length} if there is none.
+     */
+    private static int ceilingIndex(int[] sorted, int key) {
+        int index = Arrays.binarySearch(sorted, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    static String emailDomain(String email) {
+        int at = email.lastIndexOf('@');
+        return email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Appends rows into growable direct buffers; not thread-safe.
+     */
+    public static final class Builder {
+
+        private IntBuffer birthdates;
+
+        private IntBuffer emailDomains;
+
+        private final Map<String, Integer> domainCodes = new HashMap<>();
+
+        private final List<String> domainDictionary = new ArrayList<>();
+
+        private int size;
+
+        private int minEpochDay = Integer.MAX_VALUE;
+
+        private int maxEpochDay = Integer.MIN_VALUE;
+
+        public Builder(int expectedRows) {
+            int capacity = Math.max(expectedRows, 16);
+            this.birthdates = allocate(capacity);
+            this.emailDomains = allocate(capacity);
+        }
+
+        public Builder add(LocalDate birthdate, String email) {
+            if (size == birthdates.capacity()) {
+                birthdates = grow(birthdates);
+                emailDomains = grow(emailDomains);
+            }
+            int epochDay = (int) birthdate.toEpochDay();
+            minEpochDay = Math.min(minEpochDay, epochDay);
+            maxEpochDay = Math.max(maxEpochDay, epochDay);
+            birthdates.put(size, epochDay);
+            emailDomains.put(size, domainCodes.computeIfAbsent(emailDomain(email), domain -> {
+                domainDictionary.add(domain);
+                return domainDictionary.size() - 1;
+            }));
+            size++;
+            return this;
+        }
+
+        /**
+         * Trims the columns to the row count; the builder must not be used afterwards.
+         */
+        public UserSnapshot build(Instant builtAt) {
+            return new UserSnapshot(size, trim(birthdates, size), trim(emailDomains, size),
+                    domainDictionary.toArray(String[]::new), minEpochDay, maxEpochDay, builtAt);
+        }
+
+        private static IntBuffer allocate(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+
+        private static IntBuffer grow(IntBuffer column) {
+            IntBuffer grown = allocate(column.capacity() * 2);
+            grown.put(column.duplicate().clear());
+            return grown;
+        }
+
+        private static IntBuffer trim(IntBuffer column, int size) {
+            if (column.capacity() == size) {
+                return column.asReadOnlyBuffer();
+            }
+            IntBuffer trimmed = allocate(size);
+            trimmed.put(column.duplicate().clear().limit(size));
+            return trimmed.asReadOnlyBuffer();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.kasarab.cs_demo.service.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.LOOKUP_TIMEOUT_MSG;
+
+/**
+ * Collapses concurrent identical reads into one: the first caller for a key runs the loader on its own
+ * thread, callers arriving while it runs wait on its future and get the same result, or the same exception.
+ * Nothing is kept once the load finishes, so this never serves a result older than the read in flight.
+ * <p>
+ * Keys from different callers share one map: use key types that cannot collide (e.g. a record per query).
+ * Waiters give up after {@code user.single-flight.timeout} with 503 rather than queueing behind a stuck query.
+ */
+@Component
+public class SingleFlight {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final Duration timeout;
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong shared = new AtomicLong();
+
+    @Autowired
+    public SingleFlight(@Value("${user.single-flight.timeout}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            shared.incrementAndGet();
+            return (T) await(key, running);
+        }
+        try {
+            T value = loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Callers arriving from now on start a new load instead of joining the one in flight, e.g. because a
+     * write committed after it started. Callers already waiting still get its result.
+     */
+    public void forget(Object key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    /**
+     * Calls answered by joining another caller's load rather than running their own.
+     */
+    public long sharedCount() {
+        return shared.get();
+    }
+
+    private Object await(Object key, CompletableFuture<Object> running) {
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            log.error("Gave up waiting {} for the lookup of {}", timeout, key);
+            throw new UserServiceException(LOOKUP_TIMEOUT_MSG, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserServiceException(LOOKUP_TIMEOUT_MSG, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.kasarab.cs_demo.service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.kasarab.cs_demo.domain.UserCacheStats;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded W-TinyLFU cache of ready-to-serialize users keyed by id.
+ * <p>
+ * Entries are futures: the first caller for a missing id runs the loader on its own thread, outside any
+ * cache lock (so a virtual thread is never pinned across the database call), and concurrent callers for
+ * the same id wait on its future. {@link #invalidate} drops an in-flight load as well, so a row read
+ * before an update commits is never kept.
+ */
+@Component
+public class UserCache {
+
+    private final boolean enabled;
+
+    private final AsyncCache<Long, UserDTO> cache;
+
+    @Autowired
+    public UserCache(@Value("${user.cache.enabled}") boolean enabled,
+                     @Value("${user.cache.maximum-size}") long maximumSize,
+                     @Value("${user.cache.expire-after-write}") Duration expireAfterWrite) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public UserDTO get(Long userId, Function<Long, UserDTO> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+        CompletableFuture<UserDTO> created = new CompletableFuture<>();
+        CompletableFuture<UserDTO> future = cache.get(userId, (id, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(loader.apply(userId));
+            } catch (RuntimeException | Error e) {
+                // left pending, the entry would hang every later lookup of this id
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The cached user, or {@code null} when it is absent or still loading; never loads.
+     */
+    public UserDTO getIfPresent(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        CompletableFuture<UserDTO> future = cache.getIfPresent(userId);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    public void invalidate(Long userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    public UserCacheStats stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new UserCacheStats(
+                enabled,
+                cache.synchronous().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
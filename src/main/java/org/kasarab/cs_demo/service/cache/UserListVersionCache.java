@@ -0,0 +1,64 @@
+package org.kasarab.cs_demo.service.cache;
+
+import org.kasarab.cs_demo.domain.UserListVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The user list version that pagination ETags and the page cache are keyed by, so list requests skip the
+ * aggregate over the whole table. Writes through this instance call {@link #invalidate} once committed;
+ * writes it cannot see (another instance, plain SQL) show up once the held version is
+ * {@code user.paging.version-max-age} old. A max age of zero runs the aggregate on every request.
+ */
+@Component
+public class UserListVersionCache {
+
+    private record Held(UserListVersion version, long generation, long loadedAt) {
+    }
+
+    private final long maxAgeNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private volatile Held held;
+
+    @Autowired
+    public UserListVersionCache(@Value("${user.paging.version-max-age}") Duration maxAge) {
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * A version loaded while a write was committing is held under the generation read before the load,
+     * so the write's {@link #invalidate} discards it even if the load finishes last.
+     */
+    public UserListVersion get(Supplier<UserListVersion> loader) {
+        long current = generation.get();
+        Held snapshot = held;
+        if (snapshot != null && snapshot.generation() == current && System.nanoTime() - snapshot.loadedAt() < maxAgeNanos) {
+            return snapshot.version();
+        }
+        long loadedAt = System.nanoTime();
+        UserListVersion version = loader.get();
+        loads.incrementAndGet();
+        held = new Held(version, current, loadedAt);
+        return version;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Times the aggregate ran, for tests and benchmarks.
+     */
+    public long loadCount() {
+        return loads.get();
+    }
+}
@@ -0,0 +1,90 @@
+package org.kasarab.cs_demo.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.kasarab.cs_demo.domain.UserResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compressed JSON of pagination pages, so a repeated request skips the queries, the serialization and
+ * the compression. Pages are keyed by the user list's ETag as well: any write changes it, so an outdated
+ * page is never served, just left to expire. Concurrent misses for the same page build it once.
+ */
+@Component
+public class UserPageCache {
+
+    private record PageKey(int pageNo, int pageSize, String eTag) {
+    }
+
+    private final boolean enabled;
+
+    private final int minPageSize;
+
+    private final ObjectMapper objectMapper;
+
+    private final SingleFlight singleFlight;
+
+    private final Cache<PageKey, byte[]> pages;
+
+    @Autowired
+    public UserPageCache(@Value("${user.page-cache.enabled}") boolean enabled,
+                         @Value("${user.page-cache.min-page-size}") int minPageSize,
+                         @Value("${user.page-cache.maximum-size}") DataSize maximumSize,
+                         @Value("${user.page-cache.expire-after-write}") Duration expireAfterWrite,
+                         ObjectMapper objectMapper, SingleFlight singleFlight) {
+        this.enabled = enabled;
+        this.minPageSize = minPageSize;
+        this.objectMapper = objectMapper;
+        this.singleFlight = singleFlight;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((PageKey key, byte[] page) -> page.length)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Smaller pages are cheap to build and compress on the fly, or too small to be compressed at all.
+     */
+    public boolean isCacheable(int pageSize) {
+        return enabled && pageSize >= minPageSize;
+    }
+
+    public byte[] getGzipped(int pageNo, int pageSize, String eTag, Supplier<UserResponse> loader) {
+        PageKey key = new PageKey(pageNo, pageSize, eTag);
+        byte[] page = pages.getIfPresent(key);
+        if (page != null) {
+            return page;
+        }
+        return singleFlight.execute(key, () -> {
+            byte[] gzipped = gzip(loader.get());
+            pages.put(key, gzipped);
+            return gzipped;
+        });
+    }
+
+    public long size() {
+        return pages.estimatedSize();
+    }
+
+    private byte[] gzip(UserResponse response) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192)) {
+            objectMapper.writeValue(gzip, response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,186 @@
+package org.kasarab.cs_demo.service.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.UserRow;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.kasarab.cs_demo.repository.ReactiveUserRepository;
+import org.kasarab.cs_demo.service.ReactiveUserService;
+import org.kasarab.cs_demo.service.index.EmailIndex;
+import org.kasarab.cs_demo.service.validation.UserValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.*;
+
+/**
+ * Same rules as {@link UserServiceImpl}, on R2DBC: no call blocks, and the list and search fluxes are
+ * pulled from the database only as fast as the client consumes them.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final ReactiveUserRepository userRepository;
+
+    private final UserValidator userValidator;
+
+    private final EmailIndex emailIndex;
+
+    private final Validator validator;
+
+    @Autowired
+    public ReactiveUserServiceImpl(ReactiveUserRepository userRepository, UserValidator userValidator,
+                                   EmailIndex emailIndex, Validator validator) {
+        this.userRepository = userRepository;
+        this.userValidator = userValidator;
+        this.emailIndex = emailIndex;
+        this.validator = validator;
+    }
+
+    @Override
+    public Mono<UserDTO> create(UserDTO user) {
+        log.info("Creating user: {}", user);
+        return validate(user)
+                .then(checkEmailFree(user.getEmail()))
+                .then(Mono.defer(() -> {
+                    emailIndex.add(user.getEmail());
+                    return userRepository.nextId();
+                }))
+                .flatMap(id -> {
+                    UserRow row = toRow(user);
+                    row.setId(id);
+                    return userRepository.save(row);
+                })
+                .map(ReactiveUserServiceImpl::toDto);
+    }
+
+    @Override
+    public Mono<UserDTO> update(Long userId, UserDTO user) {
+        log.info("Updating user: {}", user);
+        return validate(user)
+                .then(findRow(userId))
+                .flatMap(row -> row.getEmail().equals(user.getEmail())
+                        ? Mono.just(row)
+                        : checkEmailFree(user.getEmail()).thenReturn(row))
+                .flatMap(row -> {
+                    row.setFirstname(user.getFirstname());
+                    row.setLastname(user.getLastname());
+                    row.setBirthdate(user.getBirthdate());
+                    row.setEmail(user.getEmail());
+                    emailIndex.add(user.getEmail());
+                    row.setAddress(user.getAddress());
+                    row.setPhoneNumber(user.getPhoneNumber());
+                    row.setLastModified(Instant.now());
+                    return userRepository.save(row);
+                })
+                .map(ReactiveUserServiceImpl::toDto);
+    }
+
+    @Override
+    public Mono<Void> delete(Long userId) {
+        log.info("Deleting user: {}", userId);
+        return findRow(userId).flatMap(userRepository::delete);
+    }
+
+    @Override
+    public Mono<UserDTO> findById(Long userId) {
+        log.info("Finding user: {}", userId);
+        return findRow(userId).map(ReactiveUserServiceImpl::toDto);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        if (!emailIndex.mightContain(email)) {
+            return Mono.just(false);
+        }
+        return userRepository.existsByEmail(email).doOnNext(exists -> {
+            if (!exists) {
+                emailIndex.recordFalsePositive();
+            }
+        });
+    }
+
+    @Override
+    public Flux<UserDTO> findAll() {
+        log.info("Finding all users");
+        return userRepository.findAllOrderById().map(ReactiveUserServiceImpl::toDto);
+    }
+
+    @Override
+    public Flux<UserDTO> findUsersByBirthday(LocalDate dateFrom, LocalDate dateTo) {
+        log.info("Finding users by birthday");
+        return Mono.fromRunnable(() -> UserServiceImpl.checkDateRange(dateFrom, dateTo))
+                .thenMany(userRepository.findByBirthdateBetween(dateFrom, dateTo))
+                .map(ReactiveUserServiceImpl::toDto);
+    }
+
+    private Mono<Void> checkEmailFree(String email) {
+        return existsByEmail(email).flatMap(exists -> {
+            if (exists) {
+                log.error("User already exists with email: {}", email);
+                return Mono.error(new UserServiceException(
+                        String.format(USER_WITH_EMAIL_EXISTS_MSG, email), HttpStatus.BAD_REQUEST));
+            }
+            return Mono.empty();
+        });
+    }
+
+    private Mono<UserRow> findRow(Long userId) {
+        return userRepository.findById(userId).switchIfEmpty(Mono.error(() ->
+                new UserServiceException(String.format(USER_WITH_ID_NOT_FOUND_MSG, userId), HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * Bean validation, minimum age and email format, in the order create applies them on the MVC stack.
+     */
+    private Mono<Void> validate(UserDTO user) {
+        return Mono.fromRunnable(() -> {
+            Set<ConstraintViolation<UserDTO>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                throw new UserServiceException(violations.iterator().next().getMessage(), HttpStatus.BAD_REQUEST);
+            }
+            String error = userValidator.check(user);
+            if (error != null) {
+                throw new UserServiceException(error, HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    private static UserRow toRow(UserDTO user) {
+        return UserRow.builder()
+                .firstname(user.getFirstname())
+                .lastname(user.getLastname())
+                .birthdate(user.getBirthdate())
+                .email(user.getEmail())
+                .address(user.getAddress())
+                .phoneNumber(user.getPhoneNumber())
+                .build();
+    }
+
+    private static UserDTO toDto(UserRow row) {
+        return new UserDTO(
+                row.getFirstname(),
+                row.getLastname(),
+                row.getBirthdate(),
+                row.getEmail(),
+                row.getAddress(),
+                row.getPhoneNumber(),
+                row.getVersion() == null ? 0 : row.getVersion(),
+                row.getLastModified()
+        );
+    }
+}
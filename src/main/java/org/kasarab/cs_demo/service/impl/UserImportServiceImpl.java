@@ -0,0 +1,168 @@
+package org.kasarab.cs_demo.service.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserImportResponse;
+import org.kasarab.cs_demo.domain.UserImportResult;
+import org.kasarab.cs_demo.domain.UserImportRow;
+import org.kasarab.cs_demo.entity.User;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.UserImportService;
+import org.kasarab.cs_demo.service.UserService;
+import org.kasarab.cs_demo.service.cache.UserListVersionCache;
+import org.kasarab.cs_demo.service.index.EmailIndex;
+import org.kasarab.cs_demo.service.index.UserSearchIndex;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.kasarab.cs_demo.service.validation.UserValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.*;
+
+/**
+ * Imports users chunk by chunk: at most one duplicate-email query (only for emails the email index
+ * cannot rule out) and one transaction per chunk, with inserts sent to the database in JDBC batches.
+ * Every row gets a result, rows that could not be read included.
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final UserRepository userRepository;
+
+    private final UserMapper userMapper;
+
+    private final EmailIndex emailIndex;
+
+    private final UserSearchIndex userSearchIndex;
+
+    private final Validator validator;
+
+    private final UserValidator userValidator;
+
+    private final UserListVersionCache userListVersionCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${user.import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${user.import.batch-size}")
+    private int batchSize;
+
+    @Autowired
+    public UserImportServiceImpl(UserRepository userRepository, UserMapper userMapper,
+                                 EmailIndex emailIndex, UserSearchIndex userSearchIndex, Validator validator,
+                                 UserValidator userValidator, UserListVersionCache userListVersionCache,
+                                 PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.emailIndex = emailIndex;
+        this.userSearchIndex = userSearchIndex;
+        this.validator = validator;
+        this.userValidator = userValidator;
+        this.userListVersionCache = userListVersionCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public UserImportResponse importUsers(Iterator<UserImportRow> rows) {
+        log.info("Importing users, chunk size: {}, batch size: {}", chunkSize, batchSize);
+        List<UserImportResult> results = new ArrayList<>();
+        Set<String> importedEmails = new HashSet<>();
+        List<UserImportRow> chunk = new ArrayList<>(chunkSize);
+        int created = 0;
+
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize || !rows.hasNext()) {
+                created += importChunk(chunk, results.size() + 1, importedEmails, results);
+                chunk.clear();
+            }
+        }
+
+        log.info("Imported {} of {} users", created, results.size());
+        return new UserImportResponse(results.size(), created, results.size() - created, results);
+    }
+
+    private int importChunk(List<UserImportRow> chunk, int firstRow, Set<String> importedEmails,
+                            List<UserImportResult> results) {
+        String[] rejections = new String[chunk.size()];
+        Set<String> possibleDuplicates = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportRow row = chunk.get(i);
+            rejections[i] = row.error() != null ? row.error() : validate(row.user());
+            if (rejections[i] == null && emailIndex.mightContain(row.user().getEmail())) {
+                possibleDuplicates.add(row.user().getEmail());
+            }
+        }
+
+        Set<String> existingEmails = possibleDuplicates.isEmpty()
+                ? Set.of()
+                : userRepository.findExistingEmails(possibleDuplicates);
+        List<User> newUsers = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (rejections[i] != null) {
+                continue;
+            }
+            String email = chunk.get(i).user().getEmail();
+            if (existingEmails.contains(email) || !importedEmails.add(email)) {
+                rejections[i] = String.format(USER_WITH_EMAIL_EXISTS_MSG, email);
+            } else {
+                emailIndex.add(email);
+                newUsers.add(userMapper.toEntity(chunk.get(i).user()));
+            }
+        }
+
+        if (!newUsers.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                userRepository.saveAll(newUsers);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            userListVersionCache.invalidate();
+            for (User user : newUsers) {
+                userSearchIndex.add(user.getId(), user.getFirstname(), user.getLastname(), user.getEmail());
+            }
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(rejections[i] == null
+                    ? UserImportResult.created(firstRow + i)
+                    : UserImportResult.rejected(firstRow + i, rejections[i]));
+        }
+        log.info("Imported chunk of {} rows starting at row {}, created: {}", chunk.size(), firstRow, newUsers.size());
+        return newUsers.size();
+    }
+
+    /**
+     * Same rules as {@link UserService#create}, plus the bean constraints the controller checks with {@code @Valid}.
+     */
+    private String validate(UserDTO user) {
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        return userValidator.check(user);
+    }
+}
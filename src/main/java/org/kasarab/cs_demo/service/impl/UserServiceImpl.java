@@ -1,27 +1,59 @@
 package org.kasarab.cs_demo.service.impl;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.kasarab.cs_demo.domain.EmailIndexStats;
+import org.kasarab.cs_demo.domain.UserBatchResponse;
+import org.kasarab.cs_demo.domain.UserBatchResult;
+import org.kasarab.cs_demo.domain.UserCacheStats;
+import org.kasarab.cs_demo.domain.UserCursorResponse;
 import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserListVersion;
 import org.kasarab.cs_demo.domain.UserResponse;
+import org.kasarab.cs_demo.domain.UserSearchResponse;
+import org.kasarab.cs_demo.domain.UserVersion;
+import org.kasarab.cs_demo.domain.UserWriteStatus;
 import org.kasarab.cs_demo.entity.User;
 import org.kasarab.cs_demo.exceptions.UserServiceException;
 import org.kasarab.cs_demo.repository.UserRepository;
 import org.kasarab.cs_demo.service.UserService;
-import org.modelmapper.ModelMapper;
+import org.kasarab.cs_demo.service.cache.SingleFlight;
+import org.kasarab.cs_demo.service.cache.UserCache;
+import org.kasarab.cs_demo.service.cache.UserListVersionCache;
+import org.kasarab.cs_demo.service.index.EmailIndex;
+import org.kasarab.cs_demo.service.index.UserSearchIndex;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.kasarab.cs_demo.service.queue.UserWriteQueue;
+import org.kasarab.cs_demo.service.utils.CursorUtils;
+import org.kasarab.cs_demo.service.validation.UserValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
-import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.kasarab.cs_demo.constant.ErrorMessages.*;
 
@@ -30,22 +62,59 @@ public class UserServiceImpl implements UserService {
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Single-flight keys, one type per query so they never collide.
+     */
+    private record UserByIdKey(Long userId) {
+    }
+
+    private record UsersByBirthdayKey(LocalDate dateFrom, LocalDate dateTo) {
+    }
+
     private final UserRepository userRepository;
 
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
+
+    private final UserCache userCache;
+
+    private final EmailIndex emailIndex;
+
+    private final UserValidator userValidator;
+
+    private final UserSearchIndex userSearchIndex;
 
-    @Value("${user.age}")
-    private int userAge;
+    private final UserWriteQueue userWriteQueue;
 
-    private static final String EMAIL_REGEX =
-            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+    private final SingleFlight singleFlight;
 
-    private static final Pattern pattern = Pattern.compile(EMAIL_REGEX);
+    private final UserListVersionCache userListVersionCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${user.batch-get.max-ids}")
+    private int batchGetMaxIds;
+
+    @Value("${user.batch-get.chunk-size}")
+    private int batchGetChunkSize;
+
+    @Value("${user.paging.max-page-size}")
+    private int maxPageSize;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, ModelMapper modelMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, UserCache userCache,
+                           EmailIndex emailIndex, UserValidator userValidator, UserSearchIndex userSearchIndex,
+                           UserWriteQueue userWriteQueue, SingleFlight singleFlight,
+                           UserListVersionCache userListVersionCache) {
         this.userRepository = userRepository;
-        this.modelMapper = modelMapper;
+        this.userMapper = userMapper;
+        this.userCache = userCache;
+        this.emailIndex = emailIndex;
+        this.userValidator = userValidator;
+        this.userSearchIndex = userSearchIndex;
+        this.userWriteQueue = userWriteQueue;
+        this.singleFlight = singleFlight;
+        this.userListVersionCache = userListVersionCache;
     }
 
     @Override
@@ -57,46 +126,141 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDTO create(UserDTO user) {
         log.info("Creating user: {}", user);
-        if (!checkUserAge(user.getBirthdate())) {
-            log.error("User birthdate is incorrect");
-            log.error(String.format(USER_IS_NOT_ALLOWED_BY_AGE_MSG, userAge));
-            throw new UserServiceException(String.format(USER_IS_NOT_ALLOWED_BY_AGE_MSG, userAge), HttpStatus.BAD_REQUEST);
-        }
+        checkNewUser(user);
+
+        emailIndex.add(user.getEmail());
+        User entity = userMapper.toEntity(user);
+        save(entity);
+        // birthday searches in flight may have missed the new row
+        singleFlight.forgetAll();
+        afterCommit(userListVersionCache::invalidate);
+        // persist assigns the id to the same instance
+        userSearchIndex.add(entity.getId(), entity.getFirstname(), entity.getLastname(), entity.getEmail());
+        log.info("User Successfully created: {}", user);
+        return user;
+    }
+
+    /**
+     * Validates now and leaves the insert to the write-behind queue; the status tells when it is committed.
+     */
+    @Override
+    public UserWriteStatus enqueueCreate(UserDTO user) {
+        log.info("Queueing user: {}", user);
+        checkNewUser(user);
+
+        UserWriteStatus status = userWriteQueue.enqueue(user);
+        emailIndex.add(user.getEmail());
+        log.info("User queued: {}, tracking id: {}", user, status.getTrackingId());
+        return status;
+    }
+
+    @Override
+    public UserWriteStatus getWriteStatus(String trackingId) {
+        log.info("Getting write status: {}", trackingId);
+        return userWriteQueue.getStatus(trackingId);
+    }
+
+    public boolean isWriteBehind() {
+        return userWriteQueue.isEnabled();
+    }
+
+    private void checkNewUser(UserDTO user) {
+        validate(user);
 
         if (existsByEmail(user.getEmail())) {
             log.error("User already exists with email: {}", user.getEmail());
-            log.error(String.format(USER_WITH_EMAIL_EXISTS_MSG, user.getEmail()));
             throw new UserServiceException(String.format(USER_WITH_EMAIL_EXISTS_MSG, user.getEmail()), HttpStatus.BAD_REQUEST);
         }
-
-        if (!isValidEmail(user.getEmail())) {
-            log.error("Invalid email: {}", user.getEmail());
-            log.error(EMAIL_IS_NOT_VALID_MSG);
-            throw new UserServiceException(EMAIL_IS_NOT_VALID_MSG, HttpStatus.BAD_REQUEST);
-        }
-
-        save(modelMapper.map(user, User.class));
-        log.info("User Successfully created: {}", user);
-        return user;
     }
 
     @Override
+    @Transactional
     public UserDTO update(Long userId, UserDTO user) {
+        return update(userId, user, null);
+    }
+
+    /**
+     * Updates the user only if it is still at one of {@code expectedVersions} (any version when {@code null}).
+     * The version is checked again on flush, so a concurrent update committed in between fails too.
+     */
+    @Override
+    @Transactional
+    public UserDTO update(Long userId, UserDTO user, Collection<Long> expectedVersions) {
         log.info("Updating user: {}", user);
+        validate(user);
 
         User userFromDb = userRepository.findById(userId).orElseThrow(() ->
                 new UserServiceException(String.format(USER_WITH_ID_NOT_FOUND_MSG, userId), HttpStatus.NOT_FOUND));
 
+        if (expectedVersions != null && !expectedVersions.contains(userFromDb.getVersion())) {
+            log.error("User {} is at version {}, expected one of {}", userId, userFromDb.getVersion(), expectedVersions);
+            throw new UserServiceException(String.format(USER_VERSION_MISMATCH_MSG, userId), HttpStatus.PRECONDITION_FAILED);
+        }
+
+        if (!user.getEmail().equals(userFromDb.getEmail()) && existsByEmail(user.getEmail())) {
+            log.error("User already exists with email: {}", user.getEmail());
+            throw new UserServiceException(String.format(USER_WITH_EMAIL_EXISTS_MSG, user.getEmail()), HttpStatus.BAD_REQUEST);
+        }
+
+        String oldFirstname = userFromDb.getFirstname();
+        String oldLastname = userFromDb.getLastname();
+        String oldEmail = userFromDb.getEmail();
         userFromDb.setFirstname(user.getFirstname());
         userFromDb.setLastname(user.getLastname());
         userFromDb.setBirthdate(user.getBirthdate());
         userFromDb.setEmail(user.getEmail());
+        emailIndex.add(user.getEmail());
         userFromDb.setAddress(user.getAddress());
         userFromDb.setPhoneNumber(user.getPhoneNumber());
 
         save(userFromDb);
+        // bumps the version now so the caller can send the new ETag
+        userRepository.flush();
+        invalidateCache(userId);
+        afterCommit(() -> {
+            userSearchIndex.remove(userId, oldFirstname, oldLastname, oldEmail);
+            userSearchIndex.add(userId, user.getFirstname(), user.getLastname(), user.getEmail());
+        });
         log.info("User Successfully updated: {}", user);
-        return user;
+        return userMapper.toDto(userFromDb);
+    }
+
+    private void validate(UserDTO user) {
+        String error = userValidator.check(user);
+        if (error != null) {
+            log.error("Invalid user {}: {}", user.getEmail(), error);
+            throw new UserServiceException(error, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Invalidates now and again after commit, so a load that read the old row in between is neither kept
+     * nor shared with callers that arrive after the write.
+     */
+    private void invalidateCache(Long userId) {
+        userCache.invalidate(userId);
+        singleFlight.forgetAll();
+        afterCommit(() -> {
+            userCache.invalidate(userId);
+            singleFlight.forgetAll();
+            userListVersionCache.invalidate();
+        });
+    }
+
+    /**
+     * Runs the action once the surrounding transaction commits, or right away outside a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     @Override
@@ -104,95 +268,343 @@ public class UserServiceImpl implements UserService {
         log.info("Deleting user: {}", userId);
         if (!userRepository.existsById(userId)) {
             log.error("User does not exist with id: {}", userId);
-            log.error(String.format(USER_WITH_ID_NOT_FOUND_MSG, userId));
             throw new UserServiceException(String.format(USER_WITH_ID_NOT_FOUND_MSG, userId), HttpStatus.NOT_FOUND);
         }
 
         userRepository.deleteById(userId);
+        invalidateCache(userId);
         log.info("User Successfully deleted: {}", userId);
     }
 
+    /**
+     * Served from the user cache; on a miss, or with the cache off, concurrent lookups of the same id share
+     * one query.
+     */
     @Override
     public UserDTO findById(Long userId) {
         log.info("Finding user: {}", userId);
+        return userCache.get(userId, id -> singleFlight.execute(new UserByIdKey(id), () -> loadById(id)));
+    }
+
+    /**
+     * Users in request order, with a not-found marker for every id that does not exist. Ids already in the
+     * user cache are served from it, the rest are loaded with one {@code IN} query per {@code chunk-size}
+     * distinct ids. Loaded users are not added to the cache: unlike {@link #findById}, a plain put could
+     * keep a row that an update committed over in the meantime.
+     */
+    @Override
+    public UserBatchResponse findAllById(List<Long> userIds) {
+        log.info("Finding {} users by id", userIds == null ? 0 : userIds.size());
+        if (userIds == null || userIds.isEmpty() || userIds.size() > batchGetMaxIds) {
+            throw invalidBatch();
+        }
+
+        Map<Long, UserDTO> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            if (userId == null) {
+                throw invalidBatch();
+            }
+            UserDTO cached = userCache.getIfPresent(userId);
+            if (cached != null) {
+                found.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += batchGetChunkSize) {
+            List<Long> chunk = missing.subList(from, Math.min(from + batchGetChunkSize, missing.size()));
+            for (User user : userRepository.findAllById(chunk)) {
+                found.put(user.getId(), userMapper.toDto(user));
+            }
+        }
+
+        List<UserBatchResult> results = new ArrayList<>(userIds.size());
+        int notFound = 0;
+        for (Long userId : userIds) {
+            UserDTO user = found.get(userId);
+            if (user == null) {
+                notFound++;
+                results.add(UserBatchResult.notFound(userId));
+            } else {
+                results.add(UserBatchResult.found(userId, user));
+            }
+        }
+        log.info("Found {} of {} users, {} loaded from the database", results.size() - notFound, results.size(), missing.size());
+        return new UserBatchResponse(results, results.size() - notFound, notFound);
+    }
+
+    private UserServiceException invalidBatch() {
+        String message = String.format(BATCH_IDS_MSG, batchGetMaxIds);
+        log.error(message);
+        return new UserServiceException(message, HttpStatus.BAD_REQUEST);
+    }
+
+    @Override
+    public UserVersion findVersionById(Long userId) {
+        log.info("Finding user version: {}", userId);
+        UserDTO cached = userCache.getIfPresent(userId);
+        if (cached != null) {
+            return new UserVersion(cached.getVersion(), cached.getLastModified());
+        }
+        return userRepository.findVersionById(userId).orElseThrow(() ->
+                new UserServiceException(String.format(USER_WITH_ID_NOT_FOUND_MSG, userId), HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Held in memory until a write through this instance commits or {@code user.paging.version-max-age}
+     * passes, so most list requests run no query for it.
+     */
+    @Override
+    public UserListVersion getListVersion() {
+        log.info("Getting user list version");
+        return userListVersionCache.get(userRepository::findListVersion);
+    }
+
+    private UserDTO loadById(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() ->
                 new UserServiceException(String.format(USER_WITH_ID_NOT_FOUND_MSG, userId), HttpStatus.NOT_FOUND));
 
-        return modelMapper.map(user, UserDTO.class);
+        return userMapper.toDto(user);
     }
 
     @Override
     public UserDTO findByFirstname(String firstname) {
         log.info("Finding user: {}", firstname);
-        User user = userRepository.findByFirstname(firstname).orElseThrow(() ->
+        return userRepository.findDtoByFirstname(firstname).orElseThrow(() ->
                 new UserServiceException(String.format(USER_NOT_FOUND_MSG, firstname), HttpStatus.NOT_FOUND));
-        return modelMapper.map(user, UserDTO.class);
     }
 
     @Override
     public UserDTO findByLastname(String lastname) {
         log.info("Finding user: {}", lastname);
-        User user = userRepository.findByLastname(lastname).orElseThrow(() ->
+        return userRepository.findDtoByLastname(lastname).orElseThrow(() ->
                 new UserServiceException(String.format(USER_NOT_FOUND_MSG, lastname), HttpStatus.NOT_FOUND));
-        return modelMapper.map(user, UserDTO.class);
     }
 
     @Override
     public boolean existsByEmail(String email) {
         log.info("Checking if user exists with email: {}", email);
-        return userRepository.existsByEmail(email);
+        if (!emailIndex.mightContain(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists) {
+            emailIndex.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpEmailIndex() {
+        log.info("Warming up email index");
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(emailIndex::add);
+        }
+        emailIndex.markReady();
+        log.info("Email index ready: {}", emailIndex.stats());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpSearchIndex() {
+        log.info("Warming up search index");
+        userSearchIndex.load(builder -> {
+            try (Stream<Object[]> rows = userRepository.streamSearchTerms()) {
+                rows.forEach(row -> builder.add((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+            }
+        });
+        log.info("Search index ready: {} terms", userSearchIndex.termCount());
+    }
+
+    /**
+     * Prefix (and, when {@code fuzzy}, typo-tolerant) search over names and emails. Every query word must
+     * match: the index intersects the postings of all words and skips the earlier pages in memory, so only
+     * the users of the requested page are loaded. Stale hits, left by deletes or by changes made behind this
+     * service, are dropped from the index when they land on a page and replaced by the next hits.
+     */
+    @Override
+    public UserSearchResponse searchUsers(String query, boolean fuzzy, int pageNo, int pageSize) {
+        log.info("Searching users: {}, fuzzy: {}, page number: {}, page size: {}", query, fuzzy, pageNo, pageSize);
+        checkPageSize(pageSize);
+        if (pageNo < 0) {
+            log.error(PAGE_NUMBER_MSG);
+            throw new UserServiceException(PAGE_NUMBER_MSG, HttpStatus.BAD_REQUEST);
+        }
+        List<String> tokens = UserSearchIndex.tokens(query);
+        if (tokens.isEmpty()) {
+            log.error(SEARCH_QUERY_IS_EMPTY_MSG);
+            throw new UserServiceException(SEARCH_QUERY_IS_EMPTY_MSG, HttpStatus.BAD_REQUEST);
+        }
+        // the index loads after the server starts accepting requests; until then an empty page would look
+        // like no matches
+        if (!userSearchIndex.isReady()) {
+            log.error(SEARCH_INDEX_LOADING_MSG);
+            throw new UserServiceException(SEARCH_INDEX_LOADING_MSG, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        Iterator<UserSearchIndex.Hit> hits = userSearchIndex.search(tokens, fuzzy);
+        long skip = (long) pageNo * pageSize;
+        for (long skipped = 0; skipped < skip && hits.hasNext(); skipped++) {
+            hits.next();
+        }
+        // one extra match tells whether another page exists
+        List<UserDTO> found = new ArrayList<>(pageSize + 1);
+        List<UserSearchIndex.Hit> batch = new ArrayList<>(pageSize + 1);
+        while (found.size() <= pageSize && hits.hasNext()) {
+            batch.clear();
+            while (found.size() + batch.size() <= pageSize && hits.hasNext()) {
+                batch.add(hits.next());
+            }
+            Map<Long, User> users = userRepository.findAllById(batch.stream().map(UserSearchIndex.Hit::userId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            for (UserSearchIndex.Hit hit : batch) {
+                User user = users.get(hit.userId());
+                if (user == null || !isIndexedUnder(user, hit.term())) {
+                    userSearchIndex.remove(hit.userId(), hit.term());
+                    continue;
+                }
+                if (userSearchIndex.matches(tokens, fuzzy, user.getFirstname(), user.getLastname(), user.getEmail())) {
+                    found.add(userMapper.toDto(user));
+                }
+            }
+        }
+
+        boolean last = found.size() <= pageSize;
+        if (!last) {
+            found = found.subList(0, pageSize);
+        }
+        log.info("Found {} users", found.size());
+        return new UserSearchResponse(found, pageNo, pageSize, last);
+    }
+
+    private static boolean isIndexedUnder(User user, String term) {
+        return term.equals(UserSearchIndex.emailTerm(user.getEmail()))
+                || UserSearchIndex.nameTerms(user.getFirstname(), user.getLastname()).contains(term);
     }
 
     @Override
     public List<UserDTO> findAll() {
         log.info("Finding all users");
-        List<User> userList = userRepository.findAll();
-        List<UserDTO> userDTOList = userList
-                .stream()
-                .map(user -> modelMapper.map(user, UserDTO.class))
-                .collect(Collectors.toList());
+        List<UserDTO> userDTOList = userRepository.findAllDtos();
         log.info("Found {} users", userDTOList.size());
         return userDTOList;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAll(Consumer<UserDTO> action) {
+        log.info("Streaming all users");
+        try (Stream<User> users = userRepository.streamAll()) {
+            return writeDetached(users, action);
+        }
+    }
+
+    private long writeDetached(Stream<User> users, Consumer<UserDTO> action) {
+        long count = 0;
+        Iterator<User> iterator = users.iterator();
+        while (iterator.hasNext()) {
+            User user = iterator.next();
+            action.accept(userMapper.toDto(user));
+            entityManager.detach(user);
+            count++;
+        }
+        log.info("Streamed {} users", count);
+        return count;
+    }
+
+    /**
+     * Concurrent searches for the same range share one query and one list, so callers must not modify it.
+     */
     @Override
     public List<UserDTO> findUsersByBirthday(LocalDate dateFrom, LocalDate dateTo) {
         log.info("Finding users by birthday");
+        checkDateRange(dateFrom, dateTo);
+        List<UserDTO> userDTOList = singleFlight.execute(new UsersByBirthdayKey(dateFrom, dateTo),
+                () -> userRepository.findDtosByBirthdateBetween(dateFrom, dateTo));
+        log.info("Found {} users", userDTOList.size());
+        return userDTOList;
+    }
+
+    @Override
+    public UserCursorResponse findUsersByBirthdayAfter(LocalDate dateFrom, LocalDate dateTo, String after, int pageSize) {
+        log.info("Finding users by birthday after cursor: {}, page size: {}", after, pageSize);
+        checkDateRange(dateFrom, dateTo);
+        checkPageSize(pageSize);
+
+        // one extra row tells whether another page exists without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<User> userList;
+        if (after == null || after.isBlank()) {
+            userList = userRepository.findPageByBirthdateBetween(dateFrom, dateTo, limit);
+        } else {
+            CursorUtils.BirthdateCursor cursor = CursorUtils.decodeBirthdate(after);
+            userList = userRepository.findNextByBirthdateBetween(dateFrom, dateTo, cursor.birthdate(), cursor.id(), limit);
+        }
+        boolean last = userList.size() <= pageSize;
+        if (!last) {
+            userList = userList.subList(0, pageSize);
+        }
+        User lastUser = last ? null : userList.get(userList.size() - 1);
+
+        return new UserCursorResponse(
+                userMapper.toDtoList(userList),
+                pageSize,
+                last ? null : CursorUtils.encode(lastUser.getBirthdate(), lastUser.getId()),
+                last,
+                null
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamUsersByBirthday(LocalDate dateFrom, LocalDate dateTo, Consumer<UserDTO> action) {
+        log.info("Streaming users by birthday");
+        checkDateRange(dateFrom, dateTo);
+        try (Stream<User> users = userRepository.streamByBirthdateBetween(dateFrom, dateTo)) {
+            return writeDetached(users, action);
+        }
+    }
+
+    public static void checkDateRange(LocalDate dateFrom, LocalDate dateTo) {
         if (dateFrom.isAfter(dateTo)) {
             log.error(DATE_MSG);
             throw new UserServiceException(DATE_MSG, HttpStatus.BAD_REQUEST);
         }
-        List<User> userList = userRepository.findByBirthdateBetween(dateFrom, dateTo);
-        List<UserDTO> userDTOList = userList
-                .stream()
-                .map(user -> modelMapper.map(user, UserDTO.class))
-                .collect(Collectors.toList());
-        log.info("Found {} users", userDTOList.size());
-        return userDTOList;
+    }
+
+    /**
+     * Keyset pages fetch {@code pageSize + 1} rows and cached pages are keyed by size, so sizes are bounded by
+     * {@code user.paging.max-page-size}.
+     */
+    public void checkPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            String message = String.format(PAGE_SIZE_MSG, maxPageSize);
+            log.error(message);
+            throw new UserServiceException(message, HttpStatus.BAD_REQUEST);
+        }
     }
 
     @Override
     public boolean checkUserAge(LocalDate date) {
-        log.info("Checking if user age is valid");
-        LocalDate currentDate = LocalDate.now();
-        Period period = Period.between(date, currentDate);
-        int age = period.getYears();
-        return age >= userAge;
+        return userValidator.isOldEnough(date);
     }
 
     @Override
     public UserResponse getAllUsersPagination(int pageNo, int pageSize) {
+        checkPageSize(pageSize);
+        if (pageNo < 0) {
+            log.error(PAGE_NUMBER_MSG);
+            throw new UserServiceException(PAGE_NUMBER_MSG, HttpStatus.BAD_REQUEST);
+        }
 
         PageRequest pageable = PageRequest.of(pageNo, pageSize);
-        Page<User> users = userRepository.findAll(pageable);
-        List<User> userList = users.getContent();
-        List<UserDTO> userDTOList = userList
-                .stream()
-                .map(user -> modelMapper.map(user, UserDTO.class))
-                .collect(Collectors.toList());
+        Page<UserDTO> users = userRepository.findDtoPage(pageable);
 
         return new UserResponse(
-                userDTOList,
+                users.getContent(),
                 users.getNumber(),
                 users.getSize(),
                 users.getTotalElements(),
@@ -201,8 +613,36 @@ public class UserServiceImpl implements UserService {
         );
     }
 
-    public static boolean isValidEmail(String email) {
-        Matcher matcher = pattern.matcher(email);
-        return matcher.matches();
+    @Override
+    public UserCursorResponse getAllUsersAfter(String after, int pageSize, boolean withTotal) {
+        log.info("Getting users after cursor: {}, page size: {}", after, pageSize);
+        checkPageSize(pageSize);
+        long afterId = after == null || after.isBlank() ? 0L : CursorUtils.decodeId(after);
+
+        // one extra row tells whether another page exists without a count query
+        List<User> userList = userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        boolean last = userList.size() <= pageSize;
+        if (!last) {
+            userList = userList.subList(0, pageSize);
+        }
+        List<UserDTO> userDTOList = userMapper.toDtoList(userList);
+
+        return new UserCursorResponse(
+                userDTOList,
+                pageSize,
+                last ? null : CursorUtils.encode(userList.get(userList.size() - 1).getId()),
+                last,
+                withTotal ? userRepository.count() : null
+        );
+    }
+
+    @Override
+    public UserCacheStats getCacheStats() {
+        return userCache.stats();
+    }
+
+    @Override
+    public EmailIndexStats getEmailIndexStats() {
+        return emailIndex.stats();
     }
 }
@@ -0,0 +1,143 @@
+package org.kasarab.cs_demo.service.index;
+
+import org.kasarab.cs_demo.domain.EmailIndexStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter of normalized user emails.
+ * <p>
+ * {@link #mightContain} returning {@code false} means the email is definitely not in the database;
+ * {@code true} means the caller must ask the database. Bits are never cleared, so deleted or changed
+ * emails only raise the false-positive rate until the next restart rebuilds the filter.
+ * Until {@link #markReady} is called every lookup answers {@code true}.
+ */
+@Component
+public class EmailIndex {
+
+    private final boolean enabled;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    private final AtomicLongArray bits;
+
+    private final LongAdder insertions = new LongAdder();
+
+    private final LongAdder definitelyNew = new LongAdder();
+
+    private final LongAdder possibleHits = new LongAdder();
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile boolean ready;
+
+    @Autowired
+    public EmailIndex(@Value("${user.email-index.enabled}") boolean enabled,
+                      @Value("${user.email-index.expected-insertions}") long expectedInsertions,
+                      @Value("${user.email-index.false-positive-rate}") double falsePositiveRate) {
+        this.enabled = enabled;
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bitCount = words * 64L;
+        this.hashFunctions = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray(enabled ? words : 1);
+    }
+
+    public void add(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            setBit(Math.floorMod(h1 + (long) i * h2, bitCount));
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(String email) {
+        if (!enabled || !ready || email == null) {
+            return true;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                definitelyNew.increment();
+                return false;
+            }
+        }
+        possibleHits.increment();
+        return true;
+    }
+
+    /**
+     * Called when the database did not confirm a {@link #mightContain} hit.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public EmailIndexStats stats() {
+        long inserted = insertions.sum();
+        long negatives = definitelyNew.sum();
+        long misses = falsePositives.sum();
+        double expectedRate = Math.pow(1 - Math.exp(-(double) hashFunctions * inserted / bitCount), hashFunctions);
+        return new EmailIndexStats(
+                isReady(),
+                enabled ? bitCount / 8 : 0,
+                hashFunctions,
+                inserted,
+                negatives,
+                possibleHits.sum(),
+                misses,
+                expectedRate,
+                negatives + misses == 0 ? 0 : (double) misses / (negatives + misses)
+        );
+    }
+
+    private void setBit(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * 64-bit FNV-1a over the trimmed, lower-cased email, finished with the SplitMix64 mixer.
+     */
+    private static long hash(String email) {
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,729 @@
+package org.kasarab.cs_demo.service.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory inverted index from lower-cased name words and emails to user ids, for prefix and fuzzy search.
+ * <p>
+ * Terms are kept in concurrent sorted maps, so a prefix lookup is a range scan. A fuzzy lookup walks the
+ * name terms from the first {@code fuzzyPrefixLength} characters of the token and skips every run of terms
+ * whose shared prefix is already further than the allowed edit distance; emails are matched by prefix only.
+ * Posting lists are immutable lists of sorted blocks replaced on write, so readers never lock and a write
+ * copies one block and the block references instead of the whole list.
+ * <p>
+ * A query with several words walks the hits of the word with the fewest postings and keeps the users every
+ * other word matches too, so no user is loaded only to be filtered out.
+ * <p>
+ * Deleted users are not removed eagerly: callers verify hits against the database and drop stale
+ * postings with {@link #remove(long, String)}.
+ */
+@Component
+public class UserSearchIndex {
+
+    /**
+     * A user id and the indexed term it was found under.
+     */
+    public record Hit(long userId, String term) {
+    }
+
+    private record Postings(ConcurrentSkipListMap<String, PostingList> names,
+                            ConcurrentSkipListMap<String, PostingList> emails) {
+
+        private int size() {
+            return names.size() + emails.size();
+        }
+    }
+
+    /**
+     * Fuzzy terms collected per lookup, as Lucene's default max expansions.
+     */
+    private static final int MAX_FUZZY_TERMS = 50;
+
+    private final int fuzzyPrefixLength;
+
+    private volatile Postings postings = new Postings(new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>());
+
+    private volatile boolean ready;
+
+    /**
+     * Writes take the read lock, so they never wait for each other; {@link #load} takes the write lock only
+     * to swap in the new postings and replay the writes made while they were built.
+     */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    /**
+     * Writes made while {@link #load} builds new postings; {@code null} when no load is running.
+     */
+    private Queue<Consumer<Postings>> replay;
+
+    @Autowired
+    public UserSearchIndex(@Value("${user.search.fuzzy-prefix-length}") int fuzzyPrefixLength) {
+        this.fuzzyPrefixLength = fuzzyPrefixLength;
+    }
+
+    public void add(Long userId, String firstname, String lastname, String email) {
+        if (userId == null) {
+            return;
+        }
+        List<String> nameTerms = nameTerms(firstname, lastname);
+        String emailTerm = emailTerm(email);
+        write(current -> {
+            for (String term : nameTerms) {
+                add(current.names(), term, userId);
+            }
+            if (emailTerm != null) {
+                add(current.emails(), emailTerm, userId);
+            }
+        });
+    }
+
+    public void remove(Long userId, String firstname, String lastname, String email) {
+        if (userId == null) {
+            return;
+        }
+        for (String term : nameTerms(firstname, lastname)) {
+            remove(userId, term);
+        }
+        String emailTerm = emailTerm(email);
+        if (emailTerm != null) {
+            remove(userId, emailTerm);
+        }
+    }
+
+    public void remove(long userId, String term) {
+        write(current -> {
+            current.names().computeIfPresent(term, (t, ids) -> ids.without(userId));
+            current.emails().computeIfPresent(term, (t, ids) -> ids.without(userId));
+        });
+    }
+
+    /**
+     * Replaces the whole index with the terms the source adds to the builder and marks it ready. Writes made
+     * while the source runs are applied to the new index as well, so a user created during a rebuild is kept
+     * whether or not the source saw it.
+     */
+    public void load(Consumer<Builder> source) {
+        Queue<Consumer<Postings>> writes = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            replay = writes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        Postings loaded = null;
+        try {
+            Builder builder = new Builder();
+            source.accept(builder);
+            loaded = builder.build();
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                if (loaded != null) {
+                    for (Consumer<Postings> write : writes) {
+                        write.accept(loaded);
+                    }
+                    postings = loaded;
+                    ready = true;
+                }
+                replay = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void write(Consumer<Postings> change) {
+        swapLock.readLock().lock();
+        try {
+            change.accept(postings);
+            Queue<Consumer<Postings>> writes = replay;
+            if (writes != null) {
+                writes.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Users with a name term equal to the token first, then users with a name term starting with it in term
+     * order, then the same for emails and finally, when {@code fuzzy}, users with a name term within the edit
+     * distance of the token, closest first. Each user is returned once; ids are read lazily, so only the
+     * consumed part of a long prefix is touched.
+     */
+    public Iterator<Hit> search(String token, boolean fuzzy) {
+        return new Hits(postings, token, fuzzy);
+    }
+
+    /**
+     * Users matching every token, in the order {@link #search(String, boolean)} returns them for the token
+     * with the fewest postings. The other tokens filter those hits: by a lookup in each of their terms when
+     * the hits are few, or else by one sorted union of their postings.
+     */
+    public Iterator<Hit> search(List<String> tokens, boolean fuzzy) {
+        Postings current = postings;
+        List<List<PostingList>> matches = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            List<PostingList> terms = matchingTerms(current, token, fuzzy);
+            if (terms.isEmpty()) {
+                return Collections.emptyIterator();
+            }
+            matches.add(terms);
+        }
+        int rarest = 0;
+        for (int i = 1; i < matches.size(); i++) {
+            if (postingCount(matches.get(i)) < postingCount(matches.get(rarest))) {
+                rarest = i;
+            }
+        }
+        long hitCount = postingCount(matches.get(rarest));
+        List<LongPredicate> filters = new ArrayList<>(matches.size() - 1);
+        for (int i = 0; i < matches.size(); i++) {
+            if (i != rarest) {
+                filters.add(filter(matches.get(i), hitCount));
+            }
+        }
+        Iterator<Hit> hits = new Hits(current, tokens.get(rarest), fuzzy);
+        return filters.isEmpty() ? hits : new FilteredHits(hits, filters);
+    }
+
+    /**
+     * The posting lists of every term the token finds: name and email prefixes and, when {@code fuzzy},
+     * the fuzzy name terms.
+     */
+    private List<PostingList> matchingTerms(Postings current, String token, boolean fuzzy) {
+        List<PostingList> terms = new ArrayList<>();
+        prefixTerms(current.names(), token).forEachRemaining(entry -> terms.add(entry.getValue()));
+        prefixTerms(current.emails(), token).forEachRemaining(entry -> terms.add(entry.getValue()));
+        if (fuzzy) {
+            fuzzyTerms(current.names(), token).forEach(entry -> terms.add(entry.getValue()));
+        }
+        return terms;
+    }
+
+    private static long postingCount(List<PostingList> terms) {
+        long count = 0;
+        for (PostingList ids : terms) {
+            count += ids.size();
+        }
+        return count;
+    }
+
+    private static LongPredicate filter(List<PostingList> terms, long hitCount) {
+        if (hitCount * terms.size() <= postingCount(terms)) {
+            return id -> {
+                for (PostingList ids : terms) {
+                    if (ids.contains(id)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        long[] union = new long[(int) postingCount(terms)];
+        int size = 0;
+        for (PostingList ids : terms) {
+            size = ids.copyTo(union, size);
+        }
+        Arrays.sort(union);
+        return id -> Arrays.binarySearch(union, id) >= 0;
+    }
+
+    /**
+     * Whether every query token matches the user the way {@link #search} would find it.
+     */
+    public boolean matches(List<String> tokens, boolean fuzzy, String firstname, String lastname, String email) {
+        List<String> names = nameTerms(firstname, lastname);
+        String emailTerm = emailTerm(email);
+        for (String token : tokens) {
+            boolean matched = emailTerm != null && emailTerm.startsWith(token);
+            for (int i = 0; i < names.size() && !matched; i++) {
+                matched = matchesName(token, names.get(i), fuzzy);
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesName(String token, String term, boolean fuzzy) {
+        if (term.startsWith(token)) {
+            return true;
+        }
+        int maxEdits = maxEdits(token);
+        if (!fuzzy || maxEdits == 0 || !term.startsWith(anchor(token))) {
+            return false;
+        }
+        int distance = distance(token, term, maxEdits);
+        return distance >= 0 && distance <= maxEdits;
+    }
+
+    /**
+     * The lower-cased words of both names.
+     */
+    public static List<String> nameTerms(String firstname, String lastname) {
+        List<String> first = tokens(firstname);
+        List<String> last = tokens(lastname);
+        if (first.isEmpty() || last.isEmpty()) {
+            return first.isEmpty() ? last : first;
+        }
+        List<String> terms = new ArrayList<>(first.size() + last.size());
+        terms.addAll(first);
+        terms.addAll(last);
+        return terms;
+    }
+
+    public static String emailTerm(String email) {
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isWhitespace(normalized.charAt(i))) {
+                return List.of(normalized.split("\\s+"));
+            }
+        }
+        return List.of(normalized);
+    }
+
+    /**
+     * Edits allowed for a token: none up to 2 characters, one up to 5, two beyond.
+     */
+    static int maxEdits(String token) {
+        return token.length() < 3 ? 0 : token.length() < 6 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance between token and term when it is at most {@code maxEdits}, {@code maxEdits + 1}
+     * when it is larger, or {@code -n} when no term starting with the first {@code n} characters of
+     * {@code term} can be within {@code maxEdits}.
+     */
+    static int distance(String token, String term, int maxEdits) {
+        int[] previous = new int[token.length() + 1];
+        int[] current = new int[token.length() + 1];
+        for (int j = 0; j < previous.length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= term.length(); i++) {
+            char c = term.charAt(i - 1);
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j < current.length; j++) {
+                int substitution = previous[j - 1] + (token.charAt(j - 1) == c ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return -i;
+            }
+            int[] row = previous;
+            previous = current;
+            current = row;
+        }
+        return Math.min(previous[token.length()], maxEdits + 1);
+    }
+
+    private String anchor(String token) {
+        return token.substring(0, Math.min(fuzzyPrefixLength, token.length()));
+    }
+
+    private List<Map.Entry<String, PostingList>> fuzzyTerms(ConcurrentSkipListMap<String, PostingList> names, String token) {
+        int maxEdits = maxEdits(token);
+        if (maxEdits == 0) {
+            return List.of();
+        }
+        record FuzzyTerm(String term, PostingList ids, int distance) {
+        }
+        List<FuzzyTerm> found = new ArrayList<>();
+        String anchor = anchor(token);
+        String from = anchor;
+        Map.Entry<String, PostingList> entry;
+        while (found.size() < MAX_FUZZY_TERMS
+                && (entry = names.ceilingEntry(from)) != null && entry.getKey().startsWith(anchor)) {
+            String term = entry.getKey();
+            int distance = distance(token, term, maxEdits);
+            if (distance < 0) {
+                if (-distance <= anchor.length()) {
+                    break;
+                }
+                // every term sharing these characters is at least as far: jump past all of them
+                from = term.substring(0, -distance) + Character.MAX_VALUE;
+            } else {
+                if (distance <= maxEdits && !term.startsWith(token)) {
+                    found.add(new FuzzyTerm(term, entry.getValue(), distance));
+                }
+                from = term + '\0';
+            }
+        }
+        found.sort(Comparator.comparingInt(FuzzyTerm::distance).thenComparing(FuzzyTerm::term));
+        return found.stream().map(match -> Map.entry(match.term(), match.ids())).toList();
+    }
+
+    private static Iterator<Map.Entry<String, PostingList>> prefixTerms(ConcurrentSkipListMap<String, PostingList> terms,
+                                                                        String token) {
+        return terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet().iterator();
+    }
+
+    private final class Hits implements Iterator<Hit> {
+
+        private final Postings postings;
+
+        private final String token;
+
+        private final boolean fuzzy;
+
+        private final Set<Long> seen = new HashSet<>();
+
+        private Iterator<Map.Entry<String, PostingList>> terms;
+
+        private int stage;
+
+        private String term;
+
+        private PrimitiveIterator.OfLong ids = PostingList.EMPTY.iterator();
+
+        private Hit pending;
+
+        private Hits(Postings postings, String token, boolean fuzzy) {
+            this.postings = postings;
+            this.token = token;
+            this.fuzzy = fuzzy;
+            this.terms = prefixTerms(postings.names(), token);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null) {
+                if (ids.hasNext()) {
+                    long id = ids.nextLong();
+                    if (seen.add(id)) {
+                        pending = new Hit(id, term);
+                    }
+                } else if (terms.hasNext()) {
+                    Map.Entry<String, PostingList> entry = terms.next();
+                    term = entry.getKey();
+                    ids = entry.getValue().iterator();
+                } else if (stage == 0) {
+                    stage = 1;
+                    terms = prefixTerms(postings.emails(), token);
+                } else if (stage == 1 && fuzzy) {
+                    stage = 2;
+                    terms = fuzzyTerms(postings.names(), token).iterator();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Hit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Hit hit = pending;
+            pending = null;
+            return hit;
+        }
+    }
+
+    /**
+     * Hits of the driving token that every other token's filter accepts.
+     */
+    private static final class FilteredHits implements Iterator<Hit> {
+
+        private final Iterator<Hit> hits;
+
+        private final List<LongPredicate> filters;
+
+        private Hit pending;
+
+        private FilteredHits(Iterator<Hit> hits, List<LongPredicate> filters) {
+            this.hits = hits;
+            this.filters = filters;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending == null && hits.hasNext()) {
+                Hit hit = hits.next();
+                boolean matched = true;
+                for (int i = 0; i < filters.size() && matched; i++) {
+                    matched = filters.get(i).test(hit.userId());
+                }
+                if (matched) {
+                    pending = hit;
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public Hit next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Hit hit = pending;
+            pending = null;
+            return hit;
+        }
+    }
+
+    private static void add(ConcurrentSkipListMap<String, PostingList> terms, String term, long userId) {
+        terms.compute(term, (t, ids) -> ids == null ? PostingList.of(new long[]{userId}, 1) : ids.with(userId));
+    }
+
+    /**
+     * Sorted, distinct user ids in blocks of at most {@link #BLOCK_SIZE}. Immutable: adding or removing an id
+     * copies the block it falls in and the array of block references, so a write costs
+     * {@code BLOCK_SIZE + size / BLOCK_SIZE} instead of the whole list. Ids are handed out in ascending order,
+     * so most adds go to the last block, and a full last block is followed by a new one rather than split.
+     */
+    static final class PostingList {
+
+        static final int BLOCK_SIZE = 256;
+
+        static final PostingList EMPTY = new PostingList(new long[0][], 0);
+
+        private final long[][] blocks;
+
+        private final int size;
+
+        private PostingList(long[][] blocks, int size) {
+            this.blocks = blocks;
+            this.size = size;
+        }
+
+        /**
+         * The first {@code size} ids of a sorted array without duplicates.
+         */
+        static PostingList of(long[] ids, int size) {
+            long[][] blocks = new long[(size + BLOCK_SIZE - 1) / BLOCK_SIZE][];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = Arrays.copyOfRange(ids, i * BLOCK_SIZE, Math.min(size, (i + 1) * BLOCK_SIZE));
+            }
+            return new PostingList(blocks, size);
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(long id) {
+            int block = blockOf(id);
+            return block >= 0 && Arrays.binarySearch(blocks[block], id) >= 0;
+        }
+
+        PostingList with(long id) {
+            if (blocks.length == 0) {
+                return of(new long[]{id}, 1);
+            }
+            int block = Math.max(blockOf(id), 0);
+            long[] ids = blocks[block];
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return this;
+            }
+            position = -position - 1;
+            if (ids.length == BLOCK_SIZE && position == BLOCK_SIZE && block == blocks.length - 1) {
+                long[][] appended = Arrays.copyOf(blocks, blocks.length + 1);
+                appended[blocks.length] = new long[]{id};
+                return new PostingList(appended, size + 1);
+            }
+            long[] inserted = new long[ids.length + 1];
+            System.arraycopy(ids, 0, inserted, 0, position);
+            inserted[position] = id;
+            System.arraycopy(ids, position, inserted, position + 1, ids.length - position);
+            if (inserted.length <= BLOCK_SIZE) {
+                long[][] replaced = blocks.clone();
+                replaced[block] = inserted;
+                return new PostingList(replaced, size + 1);
+            }
+            long[][] split = new long[blocks.length + 1][];
+            System.arraycopy(blocks, 0, split, 0, block);
+            split[block] = Arrays.copyOfRange(inserted, 0, inserted.length / 2);
+            split[block + 1] = Arrays.copyOfRange(inserted, inserted.length / 2, inserted.length);
+            System.arraycopy(blocks, block + 1, split, block + 2, blocks.length - block - 1);
+            return new PostingList(split, size + 1);
+        }
+
+        /**
+         * This list without the id, or {@code null} when that leaves it empty, so the term is dropped.
+         */
+        PostingList without(long id) {
+            int block = blockOf(id);
+            int position = block < 0 ? -1 : Arrays.binarySearch(blocks[block], id);
+            if (position < 0) {
+                return this;
+            }
+            if (size == 1) {
+                return null;
+            }
+            long[] ids = blocks[block];
+            if (ids.length == 1) {
+                long[][] dropped = new long[blocks.length - 1][];
+                System.arraycopy(blocks, 0, dropped, 0, block);
+                System.arraycopy(blocks, block + 1, dropped, block, blocks.length - block - 1);
+                return new PostingList(dropped, size - 1);
+            }
+            long[] removed = new long[ids.length - 1];
+            System.arraycopy(ids, 0, removed, 0, position);
+            System.arraycopy(ids, position + 1, removed, position, ids.length - position - 1);
+            long[][] replaced = blocks.clone();
+            replaced[block] = removed;
+            return new PostingList(replaced, size - 1);
+        }
+
+        /**
+         * Copies the ids into the target from the offset and returns the offset after the last one.
+         */
+        int copyTo(long[] target, int offset) {
+            for (long[] ids : blocks) {
+                System.arraycopy(ids, 0, target, offset, ids.length);
+                offset += ids.length;
+            }
+            return offset;
+        }
+
+        PrimitiveIterator.OfLong iterator() {
+            return new PrimitiveIterator.OfLong() {
+
+                private int block;
+
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return block < blocks.length;
+                }
+
+                @Override
+                public long nextLong() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    long id = blocks[block][next++];
+                    if (next == blocks[block].length) {
+                        block++;
+                        next = 0;
+                    }
+                    return id;
+                }
+            };
+        }
+
+        /**
+         * The last block whose first id is not above the given one, or -1 when every block starts above it.
+         */
+        private int blockOf(long id) {
+            int low = 0;
+            int high = blocks.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (blocks[middle][0] <= id) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+    }
+
+    /**
+     * Collects postings in growable arrays, so a full rebuild does not copy a posting list per user.
+     */
+    public static final class Builder {
+
+        private Builder() {
+        }
+
+        private final Map<String, Ids> names = new HashMap<>();
+
+        private final Map<String, Ids> emails = new HashMap<>();
+
+        private static final class Ids {
+            private long[] ids = new long[1];
+            private int size;
+
+            private void add(long id) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ids[size++] = id;
+            }
+        }
+
+        public Builder add(Long userId, String firstname, String lastname, String email) {
+            if (userId == null) {
+                return this;
+            }
+            for (String term : nameTerms(firstname, lastname)) {
+                names.computeIfAbsent(term, t -> new Ids()).add(userId);
+            }
+            String emailTerm = emailTerm(email);
+            if (emailTerm != null) {
+                emails.computeIfAbsent(emailTerm, t -> new Ids()).add(userId);
+            }
+            return this;
+        }
+
+        private Postings build() {
+            return new Postings(build(names), build(emails));
+        }
+
+        private static ConcurrentSkipListMap<String, PostingList> build(Map<String, Ids> terms) {
+            TreeMap<String, PostingList> sorted = new TreeMap<>();
+            terms.forEach((term, ids) -> {
+                long[] copy = Arrays.copyOf(ids.ids, ids.size);
+                Arrays.sort(copy);
+                int unique = 0;
+                for (long id : copy) {
+                    if (unique == 0 || copy[unique - 1] != id) {
+                        copy[unique++] = id;
+                    }
+                }
+                sorted.put(term, PostingList.of(copy, unique));
+            });
+            // built from a sorted map in linear time
+            return new ConcurrentSkipListMap<>(sorted);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.kasarab.cs_demo.service.mapper;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written field copy: no reflection, no intermediate objects.
+ */
+@Component
+@ConditionalOnProperty(name = "user.mapper", havingValue = "direct", matchIfMissing = true)
+public class DirectUserMapper implements UserMapper {
+
+    @Override
+    public UserDTO toDto(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserDTO(
+                user.getFirstname(),
+                user.getLastname(),
+                user.getBirthdate(),
+                user.getEmail(),
+                user.getAddress(),
+                user.getPhoneNumber(),
+                user.getVersion(),
+                user.getLastModified()
+        );
+    }
+
+    @Override
+    public User toEntity(UserDTO userDTO) {
+        if (userDTO == null) {
+            return null;
+        }
+        User user = new User();
+        user.setFirstname(userDTO.getFirstname());
+        user.setLastname(userDTO.getLastname());
+        user.setBirthdate(userDTO.getBirthdate());
+        user.setEmail(userDTO.getEmail());
+        user.setAddress(userDTO.getAddress());
+        user.setPhoneNumber(userDTO.getPhoneNumber());
+        return user;
+    }
+}
@@ -0,0 +1,30 @@
+package org.kasarab.cs_demo.service.mapper;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.User;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "user.mapper", havingValue = "modelmapper")
+public class ModelMapperUserMapper implements UserMapper {
+
+    private final ModelMapper modelMapper;
+
+    @Autowired
+    public ModelMapperUserMapper(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+    }
+
+    @Override
+    public UserDTO toDto(User user) {
+        return modelMapper.map(user, UserDTO.class);
+    }
+
+    @Override
+    public User toEntity(UserDTO userDTO) {
+        return modelMapper.map(userDTO, User.class);
+    }
+}
@@ -0,0 +1,25 @@
+package org.kasarab.cs_demo.service.mapper;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps between {@link User} and {@link UserDTO}. The implementation is chosen by the {@code user.mapper} property.
+ */
+public interface UserMapper {
+
+    UserDTO toDto(User user);
+
+    User toEntity(UserDTO userDTO);
+
+    default List<UserDTO> toDtoList(List<User> users) {
+        List<UserDTO> userDTOList = new ArrayList<>(users.size());
+        for (User user : users) {
+            userDTOList.add(toDto(user));
+        }
+        return userDTOList;
+    }
+}
@@ -0,0 +1,270 @@
+package org.kasarab.cs_demo.service.queue;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserWriteStatus;
+import org.kasarab.cs_demo.entity.User;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.cache.UserListVersionCache;
+import org.kasarab.cs_demo.service.index.UserSearchIndex;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.*;
+
+/**
+ * Write-behind queue for user creates: callers enqueue already validated users and get a tracking id back,
+ * a single writer thread inserts them in batches, one transaction per batch.
+ * <p>
+ * The queue is a lock-free linked queue bounded by a counter that covers queued and in-flight users, so
+ * {@link #enqueue} fails fast with 429 instead of growing without limit. A batch is written once
+ * {@code batch-size} users are waiting or the oldest has waited {@code max-latency}. A batch that fails is
+ * retried user by user, so one bad row does not reject the others. Accepted users live only in memory
+ * until written: shutdown drains the queue, a crash loses it.
+ */
+@Component
+public class UserWriteQueue {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private record PendingUser(String trackingId, UserDTO user, long enqueuedAt) {
+    }
+
+    private final boolean enabled;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final long maxLatencyNanos;
+
+    private final Duration drainTimeout;
+
+    private final UserRepository userRepository;
+
+    private final UserMapper userMapper;
+
+    private final UserSearchIndex userSearchIndex;
+
+    private final UserListVersionCache userListVersionCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentLinkedQueue<PendingUser> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Set<String> pendingEmails = ConcurrentHashMap.newKeySet();
+
+    private final Cache<String, UserWriteStatus> statuses;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile boolean accepting;
+
+    private Thread writer;
+
+    @Autowired
+    public UserWriteQueue(@Value("${user.write-behind.enabled}") boolean enabled,
+                          @Value("${user.write-behind.capacity}") int capacity,
+                          @Value("${user.write-behind.batch-size}") int batchSize,
+                          @Value("${user.write-behind.max-latency}") Duration maxLatency,
+                          @Value("${user.write-behind.drain-timeout}") Duration drainTimeout,
+                          @Value("${user.write-behind.status-retention}") Duration statusRetention,
+                          UserRepository userRepository, UserMapper userMapper, UserSearchIndex userSearchIndex,
+                          UserListVersionCache userListVersionCache, PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.drainTimeout = drainTimeout;
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.userSearchIndex = userSearchIndex;
+        this.userListVersionCache = userListVersionCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(Math.max(capacity, 1) * 10L)
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        writer = new Thread(this::run, "user-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("User write-behind started, capacity: {}, batch size: {}, max latency: {} ms",
+                capacity, batchSize, maxLatencyNanos / 1_000_000);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a validated user for insertion. Emails still waiting in the queue count as taken.
+     */
+    public UserWriteStatus enqueue(UserDTO user) {
+        if (!accepting) {
+            throw new UserServiceException(WRITE_QUEUE_CLOSED_MSG, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (!pendingEmails.add(user.getEmail())) {
+            throw new UserServiceException(String.format(USER_WITH_EMAIL_EXISTS_MSG, user.getEmail()), HttpStatus.BAD_REQUEST);
+        }
+        // reserve the slot before queueing, so concurrent callers can never overshoot the capacity
+        int queued = size.incrementAndGet();
+        if (queued > capacity) {
+            size.decrementAndGet();
+            pendingEmails.remove(user.getEmail());
+            throw new UserServiceException(WRITE_QUEUE_FULL_MSG, HttpStatus.TOO_MANY_REQUESTS);
+        }
+        String trackingId = UUID.randomUUID().toString();
+        UserWriteStatus status = UserWriteStatus.pending(trackingId);
+        statuses.put(trackingId, status);
+        queue.offer(new PendingUser(trackingId, user, System.nanoTime()));
+        if (queued >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return status;
+    }
+
+    public UserWriteStatus getStatus(String trackingId) {
+        UserWriteStatus status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new UserServiceException(String.format(WRITE_NOT_FOUND_MSG, trackingId), HttpStatus.NOT_FOUND);
+        }
+        return status;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Stops accepting users and waits for the writer to insert everything already accepted.
+     */
+    @PreDestroy
+    public void drain() {
+        if (writer == null || !accepting) {
+            return;
+        }
+        accepting = false;
+        log.info("Draining user write-behind queue: {} users", size.get());
+        LockSupport.unpark(writer);
+        try {
+            writer.join(drainTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.error("User write-behind queue not drained after {}: {} users left", drainTimeout, size.get());
+        } else {
+            log.info("User write-behind queue drained");
+        }
+    }
+
+    private void run() {
+        List<PendingUser> batch = new ArrayList<>(batchSize);
+        while (accepting || size.get() > 0) {
+            PendingUser oldest = queue.peek();
+            if (oldest == null) {
+                LockSupport.parkNanos(this, maxLatencyNanos);
+                continue;
+            }
+            long waited = System.nanoTime() - oldest.enqueuedAt();
+            if (accepting && size.get() < batchSize && waited < maxLatencyNanos) {
+                LockSupport.parkNanos(this, maxLatencyNanos - waited);
+                continue;
+            }
+            PendingUser next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // write() records failures per user; this only guards the writer thread itself
+                log.error("User write-behind batch failed", e);
+            } finally {
+                size.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingUser> batch) {
+        List<User> users = new ArrayList<>(batch.size());
+        for (PendingUser pending : batch) {
+            users.add(userMapper.toEntity(pending.user()));
+        }
+        try {
+            insert(users);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("User write-behind insert failed for {}: {}", batch.get(0).user().getEmail(), e.getMessage());
+                finish(batch.get(0), null);
+                return;
+            }
+            log.error("User write-behind batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingUser pending : batch) {
+                write(List.of(pending));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            finish(batch.get(i), users.get(i));
+        }
+        log.info("User write-behind inserted {} users", batch.size());
+    }
+
+    private void insert(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(users.size());
+            userRepository.saveAll(users);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        userListVersionCache.invalidate();
+    }
+
+    private void finish(PendingUser pending, User user) {
+        if (user == null) {
+            statuses.put(pending.trackingId(), UserWriteStatus.failed(pending.trackingId(), WRITE_FAILED_MSG));
+        } else {
+            userSearchIndex.add(user.getId(), user.getFirstname(), user.getLastname(), user.getEmail());
+            statuses.put(pending.trackingId(), UserWriteStatus.created(pending.trackingId(), user.getId()));
+        }
+        // the row is committed (or rejected), so the database answers for this email from now on
+        pendingEmails.remove(pending.user().getEmail());
+    }
+}
@@ -0,0 +1,56 @@
+package org.kasarab.cs_demo.service.utils;
+
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.INVALID_CURSOR_MSG;
+
+/**
+ * Opaque keyset cursors. Clients must treat the value as a token and pass it back unchanged.
+ */
+public final class CursorUtils {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorUtils() {
+    }
+
+    /**
+     * Position in a (birthdate, id) ordered result.
+     */
+    public record BirthdateCursor(LocalDate birthdate, long id) {
+    }
+
+    public static String encode(long id) {
+        return ENCODER.encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static String encode(LocalDate birthdate, long id) {
+        return ENCODER.encodeToString((birthdate.toEpochDay() + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static BirthdateCursor decodeBirthdate(String cursor) {
+        try {
+            String value = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII);
+            int separator = value.indexOf(':');
+            return new BirthdateCursor(
+                    LocalDate.ofEpochDay(Long.parseLong(value.substring(0, separator))),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new UserServiceException(String.format(INVALID_CURSOR_MSG, cursor), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    public static long decodeId(String cursor) {
+        try {
+            return Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new UserServiceException(String.format(INVALID_CURSOR_MSG, cursor), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.kasarab.cs_demo.service.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserImportRow;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.IMPORT_CSV_HEADER_MSG;
+import static org.kasarab.cs_demo.constant.ErrorMessages.IMPORT_CSV_QUOTE_MSG;
+import static org.kasarab.cs_demo.constant.ErrorMessages.IMPORT_NOT_READABLE_MSG;
+import static org.kasarab.cs_demo.constant.ErrorMessages.IMPORT_ROW_NOT_READABLE_MSG;
+
+/**
+ * Turns an import upload into a lazy sequence of rows, so rows are parsed only as fast as they are written.
+ * A row that cannot be read is returned with the reason and reading goes on; only a broken CSV header or
+ * JSON array framing ends the upload with a 400.
+ */
+@Component
+public class UserImportReader {
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("firstname", "lastname", "birthdate", "email", "address", "phoneNumber");
+
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private final ObjectReader userReader;
+
+    @Autowired
+    public UserImportReader(ObjectMapper objectMapper) {
+        this.userReader = objectMapper.readerFor(UserDTO.class);
+    }
+
+    /**
+     * Reads either a JSON array of users or a sequence of JSON objects. A value that does not bind to a user
+     * is skipped up to the end of that value; text that cannot be split into values aborts the upload.
+     */
+    public Iterator<UserImportRow> readJson(InputStream inputStream) throws IOException {
+        MappingIterator<UserDTO> users = userReader.readValues(inputStream);
+        return new Iterator<>() {
+
+            private int row;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return users.hasNextValue();
+                } catch (IOException e) {
+                    throw notReadable(row, e);
+                }
+            }
+
+            @Override
+            public UserImportRow next() {
+                row++;
+                try {
+                    return UserImportRow.of(users.nextValue());
+                } catch (JsonProcessingException e) {
+                    return UserImportRow.notReadable(String.format(IMPORT_ROW_NOT_READABLE_MSG, e.getOriginalMessage()));
+                } catch (IOException e) {
+                    throw notReadable(row - 1, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads one JSON object per line, so a broken line never affects the lines after it.
+     */
+    public Iterator<UserImportRow> readNdjson(InputStream inputStream) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return new LineIterator(reader, line -> {
+            try {
+                return UserImportRow.of(userReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                return UserImportRow.notReadable(String.format(IMPORT_ROW_NOT_READABLE_MSG, e.getOriginalMessage()));
+            }
+        });
+    }
+
+    /**
+     * Reads comma-separated rows after a header naming the {@link UserDTO} fields; birthdate uses dd-MM-yyyy.
+     * Fields containing commas must be enclosed in double quotes, with {@code ""} for a quote inside them,
+     * and cannot span lines.
+     */
+    public Iterator<UserImportRow> readCsv(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return List.<UserImportRow>of().iterator();
+        }
+        String[] headerValues = splitCsv(header.trim());
+        List<String> headerColumns = headerValues == null ? List.of() : Arrays.asList(headerValues);
+        int[] index = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = headerColumns.indexOf(CSV_COLUMNS.get(i));
+            if (index[i] < 0 && i < 4) {
+                throw new UserServiceException(
+                        String.format(IMPORT_CSV_HEADER_MSG, String.join(",", CSV_COLUMNS)), HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        return new LineIterator(reader, line -> {
+            String[] values = splitCsv(line);
+            if (values == null) {
+                return UserImportRow.notReadable(String.format(IMPORT_ROW_NOT_READABLE_MSG, IMPORT_CSV_QUOTE_MSG));
+            }
+            String birthdate = column(values, index[2]);
+            try {
+                return UserImportRow.of(UserDTO.builder()
+                        .firstname(column(values, index[0]))
+                        .lastname(column(values, index[1]))
+                        .birthdate(birthdate == null ? null : LocalDate.parse(birthdate, CSV_DATE_FORMAT))
+                        .email(column(values, index[3]))
+                        .address(column(values, index[4]))
+                        .phoneNumber(column(values, index[5]))
+                        .build());
+            } catch (DateTimeParseException e) {
+                return UserImportRow.notReadable(String.format(IMPORT_ROW_NOT_READABLE_MSG, e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Splits one CSV line into its fields, or returns {@code null} when a quoted field is not closed or is
+     * followed by anything but spaces before the next comma.
+     */
+    static String[] splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean inQuotes = false;
+        boolean closed = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    inQuotes = false;
+                    closed = true;
+                }
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+                closed = false;
+            } else if (closed) {
+                if (c != ' ') {
+                    return null;
+                }
+            } else if (c == '"' && value.toString().isBlank()) {
+                value.setLength(0);
+                inQuotes = true;
+            } else {
+                value.append(c);
+            }
+        }
+        if (inQuotes) {
+            return null;
+        }
+        values.add(value.toString());
+        return values.toArray(String[]::new);
+    }
+
+    private static String column(String[] values, int index) {
+        if (index < 0 || index >= values.length || values[index].isBlank()) {
+            return null;
+        }
+        return values[index].trim();
+    }
+
+    private static UserServiceException notReadable(int lastRow, IOException e) {
+        String reason = e instanceof JsonProcessingException jsonException ? jsonException.getOriginalMessage() : e.getMessage();
+        return new UserServiceException(String.format(IMPORT_NOT_READABLE_MSG, lastRow, reason), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Parses each non-blank line into a row.
+     */
+    private static final class LineIterator implements Iterator<UserImportRow> {
+
+        private final BufferedReader reader;
+
+        private final Function<String, UserImportRow> parser;
+
+        private String line;
+
+        private LineIterator(BufferedReader reader, Function<String, UserImportRow> parser) {
+            this.reader = reader;
+            this.parser = parser;
+            this.line = nextLine();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return line != null;
+        }
+
+        @Override
+        public UserImportRow next() {
+            if (line == null) {
+                throw new NoSuchElementException();
+            }
+            String current = line;
+            line = nextLine();
+            return parser.apply(current);
+        }
+
+        private String nextLine() {
+            try {
+                String next;
+                do {
+                    next = reader.readLine();
+                } while (next != null && next.isBlank());
+                return next;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.kasarab.cs_demo.service.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.kasarab.cs_demo.domain.ExportFormat;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Serializes users to the response one at a time, so nothing but the current row is kept in memory.
+ */
+@Component
+public class UserStreamWriter {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ObjectWriter ndjsonWriter;
+
+    private final ObjectWriter jsonWriter;
+
+    @Autowired
+    public UserStreamWriter(ObjectMapper objectMapper) {
+        ObjectWriter writer = objectMapper.writerFor(UserDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.ndjsonWriter = writer.withRootValueSeparator("\n");
+        this.jsonWriter = writer;
+    }
+
+    public long write(ExportFormat format, OutputStream outputStream, Consumer<Consumer<UserDTO>> source) throws IOException {
+        long[] written = new long[1];
+        try (SequenceWriter sequenceWriter = format == ExportFormat.JSON
+                ? jsonWriter.writeValuesAsArray(outputStream)
+                : ndjsonWriter.writeValues(outputStream)) {
+            source.accept(user -> {
+                try {
+                    sequenceWriter.write(user);
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        sequenceWriter.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        if (format == ExportFormat.NDJSON && written[0] > 0) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+        return written[0];
+    }
+}
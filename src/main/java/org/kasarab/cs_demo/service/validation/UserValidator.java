@@ -0,0 +1,141 @@
+package org.kasarab.cs_demo.service.validation;
+
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.kasarab.cs_demo.constant.ErrorMessages.*;
+
+/**
+ * Business rules every created or updated user must pass: minimum age and email format.
+ * <p>
+ * Both checks are allocation-free on the success path: the email is scanned once, left to right, and the
+ * age check compares epoch days against a cutoff recomputed once per day. Failure messages are built once.
+ */
+@Component
+public class UserValidator {
+
+    private final int userAge;
+
+    private final String ageMessage;
+
+    private volatile AgeCutoff ageCutoff = new AgeCutoff(Long.MIN_VALUE, 0);
+
+    /**
+     * Born on or before {@code epochDay} means old enough, until {@code validUntilMillis} (next midnight).
+     */
+    private record AgeCutoff(long validUntilMillis, long epochDay) {
+    }
+
+    @Autowired
+    public UserValidator(@Value("${user.age}") int userAge) {
+        this.userAge = userAge;
+        this.ageMessage = String.format(USER_IS_NOT_ALLOWED_BY_AGE_MSG, userAge);
+    }
+
+    /**
+     * The first broken rule's message, or {@code null} if the user is valid.
+     */
+    public String check(UserDTO user) {
+        if (user.getBirthdate() == null) {
+            return BIRTHDATE_IS_EMPTY_MSG;
+        }
+        if (!isOldEnough(user.getBirthdate())) {
+            return ageMessage;
+        }
+        if (!isValidEmail(user.getEmail())) {
+            return EMAIL_IS_NOT_VALID_MSG;
+        }
+        return null;
+    }
+
+    /**
+     * Same result as {@code Period.between(birthdate, LocalDate.now()).getYears() >= userAge}.
+     */
+    public boolean isOldEnough(LocalDate birthdate) {
+        AgeCutoff cutoff = ageCutoff;
+        long now = System.currentTimeMillis();
+        if (now >= cutoff.validUntilMillis()) {
+            cutoff = ageCutoff(LocalDate.now());
+            ageCutoff = cutoff;
+        }
+        return birthdate.toEpochDay() <= cutoff.epochDay();
+    }
+
+    private AgeCutoff ageCutoff(LocalDate today) {
+        long nextMidnight = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new AgeCutoff(nextMidnight, today.minusYears(userAge).toEpochDay());
+    }
+
+    /**
+     * Linear-time equivalent of
+     * {@code ^[a-zA-Z0-9_+&*-]+(?:\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}$}:
+     * dot-separated non-empty local segments, one {@code @}, at least two non-empty domain labels and
+     * a final label of 2 to 7 ASCII letters.
+     */
+    public static boolean isValidEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        int length = email.length();
+        int i = 0;
+        int segment = 0;
+        for (; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                break;
+            }
+            if (c == '.') {
+                if (segment == 0) {
+                    return false;
+                }
+                segment = 0;
+            } else if (isLocalChar(c)) {
+                segment++;
+            } else {
+                return false;
+            }
+        }
+        if (i == length || segment == 0) {
+            return false;
+        }
+        int labels = 0;
+        int label = 0;
+        boolean lettersOnly = true;
+        for (i++; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (label == 0) {
+                    return false;
+                }
+                labels++;
+                label = 0;
+                lettersOnly = true;
+            } else if (isLetter(c)) {
+                label++;
+            } else if (isDigit(c) || c == '-') {
+                label++;
+                lettersOnly = false;
+            } else {
+                return false;
+            }
+        }
+        return labels > 0 && label >= 2 && label <= 7 && lettersOnly;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '_' || c == '+' || c == '&' || c == '*' || c == '-';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,12 @@
+CREATE SEQUENCE IF NOT EXISTS user_id_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    firstname    VARCHAR(255) NOT NULL,
+    lastname     VARCHAR(255) NOT NULL,
+    birthdate    DATE         NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    address      VARCHAR(255),
+    phone_number VARCHAR(255)
+);
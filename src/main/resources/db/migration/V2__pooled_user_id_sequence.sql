@@ -0,0 +1,2 @@
+-- Must match User.ID_ALLOCATION_SIZE: each nextval hands out a block of ids used in-process (pooled-lo).
+ALTER SEQUENCE user_id_sequence INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Serves birthdate range scans and their (birthdate, id) keyset order; a birthdate-only index would be its prefix.
+CREATE INDEX IF NOT EXISTS idx_users_birthdate_id ON users (birthdate, id);
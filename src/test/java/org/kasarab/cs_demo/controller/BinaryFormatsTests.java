@@ -0,0 +1,149 @@
+package org.kasarab.cs_demo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * CBOR and Smile negotiated on the MVC stack against in-memory H2; JSON stays the default.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:binary-formats;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+public class BinaryFormatsTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cborMapper = new CBORMapper().findAndRegisterModules();
+
+    private final ObjectMapper smileMapper = new SmileMapper().findAndRegisterModules();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testAddUser_CborBody_ThenListAsCbor() throws Exception {
+        // Arrange
+        byte[] body = cborMapper.writeValueAsBytes(user("Andriy", "andriy@ostapenko.com"));
+        // Act
+        mockMvc.perform(post("/api/users/add").contentType(MediaType.APPLICATION_CBOR).content(body))
+                .andExpect(status().isCreated());
+        MvcResult result = mockMvc.perform(get("/api/users/all/pagination?pageSize=100").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn();
+        // Assert
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, result.getResponse().getContentType());
+        JsonNode page = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(List.of("users", "pageNo", "pageSize", "totalElements", "totalPages", "last"), fieldNames(page));
+        JsonNode user = findByEmail(page.get("users"), "andriy@ostapenko.com");
+        assertEquals(List.of("firstname", "lastname", "birthdate", "email", "address", "phoneNumber"), fieldNames(user));
+        assertEquals("19-08-1990", user.get("birthdate").asText());
+    }
+
+    @Test
+    public void testGetUsers_SameSchemaInEveryFormat() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/users/add").contentType(SMILE)
+                        .content(smileMapper.writeValueAsBytes(user("Mykola", "mykola@petrenko.com"))))
+                .andExpect(status().isCreated());
+        // Act
+        JsonNode json = new ObjectMapper().readTree(mockMvc.perform(get("/api/users/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        JsonNode cbor = cborMapper.readTree(mockMvc.perform(get("/api/users/").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        JsonNode smile = smileMapper.readTree(mockMvc.perform(get("/api/users/").accept(SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        // Assert
+        assertNotNull(findByEmail(json, "mykola@petrenko.com"));
+        assertEquals(json, cbor);
+        assertEquals(json, smile);
+    }
+
+    @Test
+    public void testWrites_MessageDecodedInBinaryFormats() throws Exception {
+        // Act
+        MvcResult added = mockMvc.perform(post("/api/users/add")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(user("Bohdan", "bohdan@ostapenko.com"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Long userId = userRepository.findByFirstname("Bohdan").orElseThrow().getId();
+        MvcResult updated = mockMvc.perform(put("/api/users/" + userId)
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(user("Bohdan", "bohdan@petrenko.com"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult deleted = mockMvc.perform(delete("/api/users/" + userId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn();
+        // Assert
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, added.getResponse().getContentType());
+        assertEquals("User Successfully Created",
+                cborMapper.readTree(added.getResponse().getContentAsByteArray()).get("message").asText());
+        assertEquals(SMILE.toString(), updated.getResponse().getContentType());
+        assertEquals("User Successfully Updated",
+                smileMapper.readTree(updated.getResponse().getContentAsByteArray()).get("message").asText());
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, deleted.getResponse().getContentType());
+        assertEquals("User Successfully Deleted from Database",
+                cborMapper.readTree(deleted.getResponse().getContentAsByteArray()).get("message").asText());
+    }
+
+    private static JsonNode findByEmail(JsonNode users, String email) {
+        for (JsonNode user : users) {
+            if (user.get("email").asText().equals(email)) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static UserDTO user(String firstname, String email) {
+        return UserDTO.builder()
+                .firstname(firstname)
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(1990, 8, 19))
+                .email(email)
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+    }
+}
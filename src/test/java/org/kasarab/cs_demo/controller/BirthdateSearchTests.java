@@ -0,0 +1,150 @@
+package org.kasarab.cs_demo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.kasarab.cs_demo.service.utils.CursorUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset paging and streaming export of birthdate searches against in-memory H2. Every test uses its own
+ * birth year, so the users one test creates never fall in another test's range.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:birthdate-search;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+public class BirthdateSearchTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Test
+    public void testSearchCursor_EqualBirthdatesOrderedById() throws Exception {
+        // Arrange
+        LocalDate birthdate = LocalDate.of(1951, 3, 1);
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createUser("cursor" + i, birthdate));
+        }
+        // Act
+        List<String> emails = new ArrayList<>();
+        List<Boolean> lastFlags = new ArrayList<>();
+        String after = null;
+        do {
+            JsonNode page = searchPage(1951, after, 2);
+            page.get("users").forEach(user -> emails.add(user.get("email").asText()));
+            lastFlags.add(page.get("last").asBoolean());
+            after = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        } while (after != null);
+        // Assert
+        // ids follow creation order, so the tie-break on id returns every user once and in that order
+        assertEquals(created, emails);
+        assertEquals(List.of(false, false, true), lastFlags);
+    }
+
+    @Test
+    public void testSearchCursor_LastFlagOnFullLastPage() throws Exception {
+        // Arrange
+        createUser("full0", LocalDate.of(1952, 5, 1));
+        createUser("full1", LocalDate.of(1952, 6, 1));
+        // Act
+        JsonNode page = searchPage(1952, null, 2);
+        // Assert
+        assertEquals(2, page.get("users").size());
+        assertTrue(page.get("last").asBoolean());
+        assertFalse(page.hasNonNull("nextCursor"));
+    }
+
+    @Test
+    public void testSearchCursor_MalformedCursor() throws Exception {
+        // Arrange
+        String notNumbers = Base64.getUrlEncoder().encodeToString("x:1".getBytes(StandardCharsets.US_ASCII));
+        // Act & Assert
+        for (String cursor : List.of("not a cursor", notNumbers, CursorUtils.encode(7L))) {
+            mockMvc.perform(get("/api/users/search/cursor")
+                            .param("dateFrom", "01-01-1953")
+                            .param("dateTo", "31-12-1953")
+                            .param("after", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    public void testSearchExport_NdjsonRowsInBirthdateOrder() throws Exception {
+        // Arrange
+        createUser("export1", LocalDate.of(1954, 9, 1));
+        createUser("export0", LocalDate.of(1954, 2, 1));
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/users/search/export")
+                        .param("dateFrom", "01-01-1954")
+                        .param("dateTo", "31-12-1954"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        // Assert
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(
+                MediaType.parseMediaType(result.getResponse().getContentType())));
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("export0@ostapenko.com", objectMapper.readTree(lines[0]).get("email").asText());
+        assertEquals("export1@ostapenko.com", objectMapper.readTree(lines[1]).get("email").asText());
+    }
+
+    private JsonNode searchPage(int year, String after, int pageSize) throws Exception {
+        MockHttpServletRequestBuilder search = get("/api/users/search/cursor")
+                .param("dateFrom", "01-01-" + year)
+                .param("dateTo", "31-12-" + year)
+                .param("pageSize", String.valueOf(pageSize));
+        if (after != null) {
+            search.param("after", after);
+        }
+        MvcResult result = mockMvc.perform(search)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    private String createUser(String name, LocalDate birthdate) {
+        String email = name + "@ostapenko.com";
+        userService.create(UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(birthdate)
+                .email(email)
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build());
+        return email;
+    }
+}
@@ -0,0 +1,115 @@
+package org.kasarab.cs_demo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional updates with {@code If-Match} against in-memory H2. Every test updates its own user.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:if-match;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureMockMvc
+public class UserIfMatchTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testUpdate_CurrentStrongTag() throws Exception {
+        // Arrange
+        Long userId = createUser("Andriy");
+        String eTag = currentETag(userId);
+        // Act
+        update(userId, "Andrii", eTag, status().isOk());
+        // Assert
+        assertEquals("Andrii", userRepository.findById(userId).orElseThrow().getFirstname());
+        assertNotEquals(eTag, currentETag(userId));
+    }
+
+    @Test
+    public void testUpdate_WeakTagFails() throws Exception {
+        // Arrange
+        Long userId = createUser("Mykola");
+        String eTag = currentETag(userId);
+        // Act
+        update(userId, "Mykolai", "W/" + eTag, status().isPreconditionFailed());
+        // Assert
+        assertEquals("Mykola", userRepository.findById(userId).orElseThrow().getFirstname());
+        assertEquals(eTag, currentETag(userId));
+    }
+
+    @Test
+    public void testUpdate_ListOfTags() throws Exception {
+        // Arrange
+        Long userId = createUser("Olena");
+        String eTag = currentETag(userId);
+        long version = Long.parseLong(eTag.replace("\"", ""));
+        String stale = "\"" + (version + 1) + "\", \"" + (version + 2) + "\"";
+        // Act
+        update(userId, "Olenka", stale, status().isPreconditionFailed());
+        // a weak tag for the current version in the list still does not match
+        update(userId, "Olenka", "W/" + eTag + ", " + stale, status().isPreconditionFailed());
+        update(userId, "Olenka", "\"" + (version + 1) + "\", " + eTag, status().isOk());
+        // Assert
+        assertEquals("Olenka", userRepository.findById(userId).orElseThrow().getFirstname());
+    }
+
+    private void update(Long userId, String firstname, String ifMatch, ResultMatcher expected) throws Exception {
+        mockMvc.perform(put("/api/users/" + userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, ifMatch)
+                        .content(objectMapper.writeValueAsBytes(user(firstname))))
+                .andExpect(expected);
+    }
+
+    private String currentETag(Long userId) throws Exception {
+        return mockMvc.perform(get("/api/users/" + userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Long createUser(String firstname) {
+        userService.create(user(firstname));
+        return userRepository.findByFirstname(firstname).orElseThrow().getId();
+    }
+
+    private static UserDTO user(String firstname) {
+        return UserDTO.builder()
+                .firstname(firstname)
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(1990, 8, 19))
+                .email(firstname.substring(0, 4).toLowerCase() + "@ostapenko.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+    }
+}
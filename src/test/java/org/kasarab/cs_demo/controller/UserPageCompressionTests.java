@@ -0,0 +1,208 @@
+package org.kasarab.cs_demo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.cache.UserListVersionCache;
+import org.kasarab.cs_demo.service.cache.UserPageCache;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gzipped pages from the page cache over a real Tomcat, which compresses JSON responses itself. The JDK
+ * client does not decompress, so the tests see the bytes as sent.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:page-compression;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "user.paging.version-max-age=1h"
+})
+public class UserPageCompressionTests {
+
+    private static final int USERS = 25;
+
+    private static final int PAGE_SIZE = 20;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPageCache userPageCache;
+
+    @Autowired
+    private UserListVersionCache userListVersionCache;
+
+    @BeforeEach
+    public void setUp() {
+        for (long i = userRepository.count(); i < USERS; i++) {
+            userService.create(UserDTO.builder()
+                    .firstname("Andriy")
+                    .lastname("Ostapenko")
+                    .birthdate(LocalDate.of(1990, 8, 19))
+                    .email("andriy" + i + "@ostapenko.com")
+                    .address("Lviv")
+                    .phoneNumber("+380987654321")
+                    .build());
+        }
+    }
+
+    @Test
+    public void testGetPage_GzipFromPageCacheNotCompressedAgain() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = getPage(0, "application/json", "gzip");
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of("gzip"), response.headers().allValues(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(varyTokens(response).containsAll(List.of("accept", "accept-encoding")));
+        String eTag = response.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertTrue(eTag.startsWith("W/\""));
+        // the bytes the cache holds, and one gunzip away from the page
+        assertArrayEquals(userPageCache.getGzipped(0, PAGE_SIZE, eTag, () -> fail("page not cached")), response.body());
+        JsonNode page = objectMapper.readTree(gunzip(response.body()));
+        assertEquals(PAGE_SIZE, page.get("users").size());
+        assertEquals(USERS, page.get("totalElements").asInt());
+    }
+
+    @Test
+    public void testGetPage_CachedPageAndNotModifiedRunNoAggregate() throws Exception {
+        // Arrange
+        String eTag = getPage(0, null, "gzip").headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        long loads = userListVersionCache.loadCount();
+        // Act
+        HttpResponse<byte[]> cached = getPage(0, null, "gzip");
+        HttpResponse<byte[]> notModified = send(request(0, PAGE_SIZE, null, "gzip").header(HttpHeaders.IF_NONE_MATCH, eTag));
+        // Assert
+        assertEquals(200, cached.statusCode());
+        assertTrue(varyTokens(cached).contains("accept"));
+        assertEquals(304, notModified.statusCode());
+        assertEquals(loads, userListVersionCache.loadCount());
+    }
+
+    @Test
+    public void testGetPage_AcceptEncodingQualityValues() throws Exception {
+        // Act & Assert
+        for (String acceptEncoding : List.of("gzip", "GZIP", "br, gzip;q=0.8", "gzip; q=1.0", "deflate, gzip;q=0.001")) {
+            assertTrue(servedFromPageCache(getPage(0, null, acceptEncoding)), acceptEncoding);
+        }
+        for (String acceptEncoding : List.of("identity", "gzip;q=0", "gzip; q=0.0, identity", "br, gzip;q=0.000")) {
+            HttpResponse<byte[]> response = getPage(0, null, acceptEncoding);
+            assertFalse(servedFromPageCache(response), acceptEncoding);
+            assertEquals(PAGE_SIZE, objectMapper.readTree(decoded(response)).get("users").size(), acceptEncoding);
+        }
+    }
+
+    @Test
+    public void testGetPage_OnlyJsonServedFromPageCache() throws Exception {
+        // Act & Assert
+        for (String accept : List.of("*/*", "application/*", "application/cbor;q=0.5, application/json",
+                "text/html, application/json;q=0.9")) {
+            HttpResponse<byte[]> response = getPage(0, accept, "gzip");
+            assertTrue(servedFromPageCache(response), accept);
+            assertEquals(MediaType.APPLICATION_JSON_VALUE, response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        }
+        for (String accept : List.of("application/cbor", "application/json;q=0.5, application/cbor")) {
+            HttpResponse<byte[]> response = getPage(0, accept, "gzip");
+            assertFalse(servedFromPageCache(response), accept);
+            assertEquals(MediaType.APPLICATION_CBOR_VALUE, response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+            assertEquals(PAGE_SIZE, cborMapper.readTree(decoded(response)).get("users").size(), accept);
+        }
+    }
+
+    @Test
+    public void testGetPage_SmallPagesLeftToTomcat() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = getPage(0, null, "gzip", PAGE_SIZE - 1);
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertFalse(servedFromPageCache(response));
+        assertEquals(PAGE_SIZE - 1, objectMapper.readTree(decoded(response)).get("users").size());
+    }
+
+    private HttpResponse<byte[]> getPage(int pageNo, String accept, String acceptEncoding) throws Exception {
+        return getPage(pageNo, accept, acceptEncoding, PAGE_SIZE);
+    }
+
+    private HttpResponse<byte[]> getPage(int pageNo, String accept, String acceptEncoding, int pageSize) throws Exception {
+        return send(request(pageNo, pageSize, accept, acceptEncoding));
+    }
+
+    private HttpRequest.Builder request(int pageNo, int pageSize, String accept, String acceptEncoding) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/users/all/pagination?pageNo=" + pageNo + "&pageSize=" + pageSize))
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return request;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Only the page cache varies on Accept; Tomcat adds just Accept-Encoding when it compresses.
+     */
+    private static boolean servedFromPageCache(HttpResponse<?> response) {
+        return varyTokens(response).contains("accept");
+    }
+
+    private static List<String> varyTokens(HttpResponse<?> response) {
+        return response.headers().allValues(HttpHeaders.VARY).stream()
+                .flatMap(vary -> Arrays.stream(vary.split(",")))
+                .map(token -> token.trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    /**
+     * The body after undoing the single encoding the response declares.
+     */
+    private static byte[] decoded(HttpResponse<byte[]> response) throws IOException {
+        List<String> encodings = response.headers().allValues(HttpHeaders.CONTENT_ENCODING);
+        assertTrue(encodings.isEmpty() || encodings.equals(List.of("gzip")), encodings.toString());
+        return encodings.isEmpty() ? response.body() : gunzip(response.body());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
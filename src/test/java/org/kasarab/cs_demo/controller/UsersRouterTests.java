@@ -0,0 +1,128 @@
+package org.kasarab.cs_demo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.UserRow;
+import org.kasarab.cs_demo.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive stack end to end on in-memory H2: Flyway builds the schema over JDBC, the API runs on R2DBC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+public class UsersRouterTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Test
+    public void testAddUser_ThenStreamAndSearch() {
+        // Arrange
+        UserDTO user = user("Andriy", "andriy@ostapenko.com", LocalDate.of(1971, 8, 19));
+        // Act
+        webTestClient.post().uri("/api/users/add").bodyValue(user).exchange()
+                .expectStatus().isCreated();
+        List<UserDTO> all = webTestClient.get().uri("/api/users/").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .returnResult(UserDTO.class).getResponseBody().collectList().block();
+        List<UserDTO> found = webTestClient.get().uri("/api/users/search?dateFrom=01-01-1971&dateTo=31-12-1971").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserDTO.class).returnResult().getResponseBody();
+        // Assert
+        assertTrue(all.stream().anyMatch(u -> u.getEmail().equals("andriy@ostapenko.com")));
+        assertEquals(1, found.size());
+        assertEquals("Andriy", found.get(0).getFirstname());
+    }
+
+    @Test
+    public void testUpdateAndDeleteUser() {
+        // Arrange
+        webTestClient.post().uri("/api/users/add").bodyValue(user("Mykola", "mykola@petrenko.com", LocalDate.of(1990, 1, 1)))
+                .exchange().expectStatus().isCreated();
+        Long userId = idOf("mykola@petrenko.com");
+        // Act
+        webTestClient.put().uri("/api/users/{userId}", userId).bodyValue(user("Mykhailo", "mykola@petrenko.com", LocalDate.of(1990, 1, 1)))
+                .exchange().expectStatus().isOk();
+        UserDTO updated = webTestClient.get().uri("/api/users/{userId}", userId).exchange()
+                .expectStatus().isOk()
+                .expectBody(UserDTO.class).returnResult().getResponseBody();
+        webTestClient.delete().uri("/api/users/{userId}", userId).exchange().expectStatus().isOk();
+        // Assert
+        assertEquals("Mykhailo", updated.getFirstname());
+        webTestClient.get().uri("/api/users/{userId}", userId).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testUpdateUser_EmailTakenByAnotherUser() {
+        // Arrange
+        webTestClient.post().uri("/api/users/add").bodyValue(user("Iryna", "iryna@bondar.com", LocalDate.of(1992, 2, 2)))
+                .exchange().expectStatus().isCreated();
+        webTestClient.post().uri("/api/users/add").bodyValue(user("Oksana", "oksana@bondar.com", LocalDate.of(1993, 3, 3)))
+                .exchange().expectStatus().isCreated();
+        Long userId = idOf("oksana@bondar.com");
+        // Act & Assert
+        webTestClient.put().uri("/api/users/{userId}", userId).bodyValue(user("Oksana", "iryna@bondar.com", LocalDate.of(1993, 3, 3)))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectBody().jsonPath("$.message").isEqualTo("User with Email iryna@bondar.com already exists.");
+        webTestClient.get().uri("/api/users/{userId}", userId).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo("oksana@bondar.com");
+    }
+
+    @Test
+    public void testAddUser_Underage() {
+        // Act & Assert
+        webTestClient.post().uri("/api/users/add").bodyValue(user("Ostap", "ostap@example.com", LocalDate.now().minusYears(10)))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectBody().jsonPath("$.message").isEqualTo("User must be at least 18 years old.");
+    }
+
+    @Test
+    public void testSearch_InvalidRange() {
+        // Act & Assert
+        webTestClient.get().uri("/api/users/search?dateFrom=31-12-2000&dateTo=01-01-2000").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private Long idOf(String email) {
+        return userRepository.findAllOrderById()
+                .filter(row -> row.getEmail().equals(email))
+                .map(UserRow::getId)
+                .blockFirst();
+    }
+
+    private static UserDTO user(String firstname, String email, LocalDate birthdate) {
+        return UserDTO.builder()
+                .firstname(firstname)
+                .lastname("Ostapenko")
+                .birthdate(birthdate)
+                .email(email)
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package org.kasarab.cs_demo.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.entity.User;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.mapper.DirectUserMapper;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotPathMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final HotPathMetrics metrics = new HotPathMetrics(registry, true);
+
+    private final UserMapper mapper = proxy(new DirectUserMapper());
+
+    @Test
+    public void testMapperCall_Recorded() {
+        // Arrange
+        List<User> users = users(10);
+        // Act
+        mapper.toDtoList(users);
+        // Assert
+        Timer timer = registry.find(HotPathMetrics.MAPPER_METRIC).tag("method", "toDtoList").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void testMapperCall_NotRecordedWhenDisabled() {
+        // Arrange
+        metrics.setEnabled(false);
+        // Act
+        mapper.toDtoList(users(10));
+        // Assert
+        assertNull(registry.find(HotPathMetrics.MAPPER_METRIC).timer());
+    }
+
+    @Test
+    public void testMapperCall_TimerReusedPerMethod() {
+        // Arrange
+        List<User> users = users(3);
+        // Act
+        mapper.toDtoList(users);
+        mapper.toDtoList(users);
+        mapper.toDto(users.get(0));
+        // Assert
+        assertEquals(2, registry.find(HotPathMetrics.MAPPER_METRIC).tag("method", "toDtoList").timer().count());
+        assertEquals(1, registry.find(HotPathMetrics.MAPPER_METRIC).tag("method", "toDto").timer().count());
+        assertEquals(2, registry.find(HotPathMetrics.MAPPER_METRIC).timers().size());
+    }
+
+    @Test
+    public void testMapperCall_RecordedAgainAfterReenabling() {
+        // Arrange
+        List<User> users = users(3);
+        metrics.setEnabled(false);
+        mapper.toDtoList(users);
+        // Act
+        metrics.setEnabled(true);
+        mapper.toDtoList(users);
+        // Assert
+        assertEquals(1, registry.find(HotPathMetrics.MAPPER_METRIC).tag("method", "toDtoList").timer().count());
+    }
+
+    @Test
+    public void testRepositoryTimer_TaggedWithSignature() throws Exception {
+        // Arrange
+        Method findAll = UserRepository.class.getMethod("findAll");
+        Method findAllPaged = UserRepository.class.getMethod("findAll", Pageable.class);
+        // Act
+        Timer timer = metrics.repositoryTimer(findAll);
+        Timer pagedTimer = metrics.repositoryTimer(findAllPaged);
+        // Assert
+        assertSame(timer, metrics.repositoryTimer(findAll));
+        assertEquals("findAll()", timer.getId().getTag("method"));
+        assertEquals("findAll(Pageable)", pagedTimer.getId().getTag("method"));
+    }
+
+    private UserMapper proxy(UserMapper target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new HotPathMetricsAspect(metrics));
+        return factory.getProxy();
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .firstname("Firstname" + id)
+                    .lastname("Lastname" + id)
+                    .birthdate(LocalDate.of(1990, 1, 1).plusDays(id))
+                    .email("user" + id + "@example.com")
+                    .address("Lviv")
+                    .phoneNumber("+380987654321")
+                    .build());
+        }
+        return users;
+    }
+}
@@ -3,6 +3,7 @@ package org.kasarab.cs_demo.repository;
 //import org.junit.jupiter.api.Assertions;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
 import org.kasarab.cs_demo.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -203,5 +204,41 @@ public class UserRepositoryTests {
         Assertions.assertThat(userList.size()).isEqualTo(2);
     }
 
+    @Test
+    public void testFindDtosByBirthdateBetween() {
+        //Arrange
+        User user = User.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+        User user2 = User.builder()
+                .firstname("Ivan")
+                .lastname("Marciv")
+                .birthdate(LocalDate.of(2005, 4, 8))
+                .email("ivan@marciv.com")
+                .address("Kyiv")
+                .phoneNumber("+380677654321")
+                .build();
+
+        //Act
+        userRepository.save(user);
+        userRepository.save(user2);
+
+        List<UserDTO> userList = userRepository.findDtosByBirthdateBetween(
+                LocalDate.of(2000, 1, 1),
+                LocalDate.of(2002, 1, 1)
+        );
+
+        //Assert
+        Assertions.assertThat(userList).hasSize(1);
+        Assertions.assertThat(userList.get(0).getEmail()).isEqualTo("andriy@ostapenko.com");
+        Assertions.assertThat(userList.get(0).getLastModified()).isNotNull();
+        Assertions.assertThat(userRepository.findDtoByFirstname("Ivan")).isPresent();
+    }
+
 
 }
@@ -0,0 +1,73 @@
+package org.kasarab.cs_demo.service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserSnapshotTests {
+
+    @Test
+    public void testCountByBirthYear() {
+        // Arrange
+        UserSnapshot snapshot = new UserSnapshot.Builder(2)
+                .add(LocalDate.of(1999, 12, 31), "a@example.com")
+                .add(LocalDate.of(2000, 1, 1), "b@example.com")
+                .add(LocalDate.of(2000, 8, 19), "c@example.com")
+                .build(Instant.now());
+        // Act
+        Map<Integer, Long> result = snapshot.countByBirthYear();
+        // Assert
+        assertEquals(Map.of(1999, 1L, 2000, 2L), result);
+        assertEquals(3, snapshot.size());
+    }
+
+    @Test
+    public void testCountByAge_SameAsPeriodBetween() {
+        // Arrange
+        LocalDate today = LocalDate.of(2024, 2, 29);
+        Random random = new Random(42);
+        UserSnapshot.Builder builder = new UserSnapshot.Builder(100);
+        Map<Integer, Long> expected = new TreeMap<>();
+        for (int i = 0; i < 5000; i++) {
+            LocalDate birthdate = today.minusDays(random.nextInt(100 * 366));
+            builder.add(birthdate, "user" + i + "@example.com");
+            int age = Period.between(birthdate, today).getYears();
+            expected.merge(age - age % 10, 1L, Long::sum);
+        }
+        // Act
+        Map<Integer, Long> result = builder.build(Instant.now()).countByAge(today, 10);
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testCountByEmailDomain_MostCommonFirst() {
+        // Arrange
+        UserSnapshot.Builder builder = new UserSnapshot.Builder(4);
+        for (String email : List.of("a@gmail.com", "b@ukr.net", "c@GMAIL.com", "d@example.com", "e@ukr.net", "f@gmail.com")) {
+            builder.add(LocalDate.of(2000, 1, 1), email);
+        }
+        // Act
+        Map<String, Long> result = builder.build(Instant.now()).countByEmailDomain(2);
+        // Assert
+        assertEquals(List.of("gmail.com", "ukr.net"), List.copyOf(result.keySet()));
+        assertEquals(3L, result.get("gmail.com"));
+        assertEquals(2L, result.get("ukr.net"));
+    }
+
+    @Test
+    public void testEmpty() {
+        // Act & Assert
+        assertTrue(UserSnapshot.empty().countByBirthYear().isEmpty());
+        assertTrue(UserSnapshot.empty().countByEmailDomain(10).isEmpty());
+        assertEquals(0, UserSnapshot.empty().memoryBytes());
+    }
+}
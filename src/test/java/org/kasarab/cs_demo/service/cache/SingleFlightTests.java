@@ -0,0 +1,130 @@
+package org.kasarab.cs_demo.service.cache;
+
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTests {
+
+    private static final int CALLERS = 64;
+
+    @Test
+    public void testExecute_ConcurrentCallersShareOneLoad() throws Exception {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(10));
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<String>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("user-1", () -> {
+                loads.incrementAndGet();
+                // the load is still running when every other caller arrives
+                awaitShared(singleFlight, CALLERS - 1);
+                return "Andriy";
+            })));
+        }
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS - 1, singleFlight.sharedCount());
+        assertTrue(results.stream().allMatch("Andriy"::equals));
+    }
+
+    @Test
+    public void testExecute_ErrorReachesEveryCaller() throws Exception {
+        // Arrange
+        int callers = 8;
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(10));
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<String>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> singleFlight.<String>execute("user-2", () -> {
+                awaitShared(singleFlight, callers - 1);
+                throw new UserServiceException("User with id 2 was not found.", HttpStatus.NOT_FOUND);
+            })));
+        }
+
+        // Assert
+        for (Future<String> future : futures) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            UserServiceException cause = assertInstanceOf(UserServiceException.class, exception.getCause());
+            assertEquals(HttpStatus.NOT_FOUND, cause.getHttpStatus());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void testExecute_WaiterTimesOut() throws Exception {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> leader = executor.submit(() -> singleFlight.execute("user-3", () -> {
+            started.countDown();
+            await(release);
+            return "Olena";
+        }));
+        started.await();
+
+        // Act
+        UserServiceException exception = assertThrows(UserServiceException.class,
+                () -> singleFlight.execute("user-3", () -> "not called"));
+        release.countDown();
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        assertEquals("Olena", leader.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    public void testExecute_NothingKeptAfterLoad() {
+        // Arrange
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(1));
+        AtomicInteger loads = new AtomicInteger();
+        // Act
+        singleFlight.execute("user-4", loads::incrementAndGet);
+        int second = singleFlight.execute("user-4", loads::incrementAndGet);
+        // Assert
+        assertEquals(2, second);
+        assertEquals(0, singleFlight.sharedCount());
+    }
+
+    private static void awaitShared(SingleFlight singleFlight, long callers) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (singleFlight.sharedCount() < callers && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.kasarab.cs_demo.service.cache;
+
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserCacheTests {
+
+    private final UserCache userCache = new UserCache(true, 100, Duration.ofMinutes(1));
+
+    @Test
+    public void testGet_LoaderErrorDoesNotLeavePendingEntry() {
+        // Arrange
+        StackOverflowError error = new StackOverflowError();
+        // Act
+        StackOverflowError thrown = assertThrows(StackOverflowError.class, () -> userCache.get(1L, id -> {
+            throw error;
+        }));
+        AtomicInteger loads = new AtomicInteger();
+        UserDTO loaded = userCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return user();
+        });
+        // Assert
+        assertSame(error, thrown);
+        assertEquals(1, loads.get());
+        assertEquals("andriy@ostapenko.com", loaded.getEmail());
+        assertSame(loaded, userCache.getIfPresent(1L));
+    }
+
+    @Test
+    public void testGet_LoaderExceptionNotCached() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> userCache.get(2L, id -> {
+            throw new IllegalStateException("database down");
+        }));
+        // Assert
+        assertNull(userCache.getIfPresent(2L));
+        assertEquals("andriy@ostapenko.com", userCache.get(2L, id -> user()).getEmail());
+    }
+
+    private static UserDTO user() {
+        return UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .email("andriy@ostapenko.com")
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package org.kasarab.cs_demo.service.cache;
+
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserListVersion;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserListVersionCacheTests {
+
+    private final UserListVersionCache userListVersionCache = new UserListVersionCache(Duration.ofMinutes(1));
+
+    @Test
+    public void testGet_HeldUntilInvalidated() {
+        // Arrange
+        UserListVersion version = new UserListVersion(1L, 1L, 0L);
+        UserListVersion changed = new UserListVersion(2L, 2L, 0L);
+        // Act
+        UserListVersion first = userListVersionCache.get(() -> version);
+        UserListVersion repeated = userListVersionCache.get(() -> changed);
+        userListVersionCache.invalidate();
+        UserListVersion afterWrite = userListVersionCache.get(() -> changed);
+        // Assert
+        assertSame(version, first);
+        assertSame(version, repeated);
+        assertSame(changed, afterWrite);
+        assertEquals(2, userListVersionCache.loadCount());
+    }
+
+    @Test
+    public void testGet_LoadOverlappingWriteNotKept() {
+        // Arrange
+        UserListVersion beforeCommit = new UserListVersion(1L, 1L, 0L);
+        UserListVersion afterCommit = new UserListVersion(2L, 2L, 0L);
+        // Act: the write commits while the aggregate that still saw the old rows runs
+        userListVersionCache.get(() -> {
+            userListVersionCache.invalidate();
+            return beforeCommit;
+        });
+        UserListVersion next = userListVersionCache.get(() -> afterCommit);
+        // Assert
+        assertSame(afterCommit, next);
+    }
+
+    @Test
+    public void testGet_ZeroMaxAgeLoadsEveryTime() {
+        // Arrange
+        UserListVersionCache uncached = new UserListVersionCache(Duration.ZERO);
+        // Act
+        uncached.get(() -> new UserListVersion(1L, 1L, 0L));
+        uncached.get(() -> new UserListVersion(1L, 1L, 0L));
+        // Assert
+        assertEquals(2, uncached.loadCount());
+    }
+}
@@ -0,0 +1,77 @@
+package org.kasarab.cs_demo.service.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserPageCacheTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final UserPageCache userPageCache = new UserPageCache(true, 20, DataSize.ofMegabytes(1),
+            Duration.ofMinutes(1), objectMapper, new SingleFlight(Duration.ofSeconds(1)));
+
+    @Test
+    public void testGetGzipped_BuiltOncePerListVersion() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        UserResponse response = page(50);
+        // Act
+        byte[] first = userPageCache.getGzipped(0, 50, "W/\"50-50-0\"", () -> {
+            loads.incrementAndGet();
+            return response;
+        });
+        byte[] repeated = userPageCache.getGzipped(0, 50, "W/\"50-50-0\"", () -> {
+            loads.incrementAndGet();
+            return response;
+        });
+        userPageCache.getGzipped(0, 50, "W/\"51-51-0\"", () -> {
+            loads.incrementAndGet();
+            return response;
+        });
+        // Assert
+        assertSame(first, repeated);
+        assertEquals(2, loads.get());
+        JsonNode page = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(first)));
+        assertEquals(50, page.get("users").size());
+        assertEquals("19-08-1990", page.get("users").get(0).get("birthdate").asText());
+        assertTrue(first.length < objectMapper.writeValueAsBytes(response).length);
+    }
+
+    @Test
+    public void testIsCacheable_OnlyLargePages() {
+        // Act & Assert
+        assertFalse(userPageCache.isCacheable(5));
+        assertTrue(userPageCache.isCacheable(20));
+        assertFalse(new UserPageCache(false, 20, DataSize.ofMegabytes(1), Duration.ofMinutes(1), objectMapper,
+                new SingleFlight(Duration.ofSeconds(1))).isCacheable(100));
+    }
+
+    private static UserResponse page(int size) {
+        List<UserDTO> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(UserDTO.builder()
+                    .firstname("Andriy")
+                    .lastname("Ostapenko")
+                    .birthdate(LocalDate.of(1990, 8, 19))
+                    .email("andriy" + i + "@ostapenko.com")
+                    .address("Lviv")
+                    .phoneNumber("+380987654321")
+                    .build());
+        }
+        return new UserResponse(users, 0, size, size, 1, true);
+    }
+}
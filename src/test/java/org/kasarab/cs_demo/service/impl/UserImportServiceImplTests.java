@@ -0,0 +1,167 @@
+package org.kasarab.cs_demo.service.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserImportResponse;
+import org.kasarab.cs_demo.domain.UserImportResult;
+import org.kasarab.cs_demo.domain.UserImportRow;
+import org.kasarab.cs_demo.domain.UserListVersion;
+import org.kasarab.cs_demo.entity.User;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.cache.UserListVersionCache;
+import org.kasarab.cs_demo.service.index.EmailIndex;
+import org.kasarab.cs_demo.service.index.UserSearchIndex;
+import org.kasarab.cs_demo.service.mapper.DirectUserMapper;
+import org.kasarab.cs_demo.service.validation.UserValidator;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportServiceImplTests {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    private final EmailIndex emailIndex = new EmailIndex(true, 1_000_000, 0.0001);
+
+    private final UserSearchIndex userSearchIndex = new UserSearchIndex(1);
+
+    private final UserListVersionCache userListVersionCache = new UserListVersionCache(Duration.ofMinutes(1));
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    public void setUp() {
+        userImportService = new UserImportServiceImpl(userRepository, new DirectUserMapper(), emailIndex,
+                userSearchIndex, Validation.buildDefaultValidatorFactory().getValidator(), new UserValidator(18),
+                userListVersionCache, transactionManager);
+        ReflectionTestUtils.setField(userImportService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(userImportService, "batchSize", 2);
+        emailIndex.markReady();
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        lenient().when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.forEach(user -> user.setId(ids.incrementAndGet()));
+            return users;
+        });
+    }
+
+    @Test
+    public void testImportUsers_OneTransactionPerChunk() {
+        // Arrange
+        List<UserImportRow> rows = List.of(row("andriy1"), row("andriy2"), row("andriy3"), row("andriy4"), row("andriy5"));
+        userListVersionCache.get(() -> new UserListVersion(0L, 0L, 0L));
+        // Act
+        UserImportResponse response = userImportService.importUsers(rows.iterator());
+        // Assert
+        assertEquals(5, response.getTotal());
+        assertEquals(5, response.getCreated());
+        ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(3)).saveAll(saved.capture());
+        assertEquals(List.of(2, 2, 1), saved.getAllValues().stream().map(List::size).toList());
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(session, times(3)).setJdbcBatchSize(2);
+        // nothing in the email index yet, so no duplicate query was needed
+        verify(userRepository, never()).findExistingEmails(any());
+        assertTrue(userSearchIndex.search("andriy5", false).hasNext());
+        assertEquals("\"5-5-0\"", userListVersionCache.get(() -> new UserListVersion(5L, 5L, 0L)).eTag());
+    }
+
+    @Test
+    public void testImportUsers_OneDuplicateQueryPerChunkForPossibleDuplicates() {
+        // Arrange
+        emailIndex.add("taken@ostapenko.com");
+        when(userRepository.findExistingEmails(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> emails = invocation.getArgument(0);
+            return emails.contains("taken@ostapenko.com") ? Set.of("taken@ostapenko.com") : Set.of();
+        });
+        List<UserImportRow> rows = List.of(row("taken"), row("andriy1"), row("andriy2"), row("andriy1"));
+        // Act
+        UserImportResponse response = userImportService.importUsers(rows.iterator());
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(List.of(UserImportResult.Status.REJECTED, UserImportResult.Status.CREATED,
+                        UserImportResult.Status.CREATED, UserImportResult.Status.REJECTED),
+                response.getResults().stream().map(UserImportResult::getStatus).toList());
+        // the first chunk asks only about the email the index could not rule out; the second chunk's repeat
+        // of andriy1 is caught by the upload's own set, after the index flags it
+        verify(userRepository).findExistingEmails(Set.of("taken@ostapenko.com"));
+        verify(userRepository).findExistingEmails(Set.of("andriy1@ostapenko.com"));
+        verify(userRepository, times(2)).findExistingEmails(anyCollection());
+        assertTrue(response.getResults().get(3).getMessage().contains("andriy1@ostapenko.com"));
+    }
+
+    @Test
+    public void testImportUsers_MixedValidAndInvalidRows() {
+        // Arrange
+        UserDTO underAge = user("young");
+        underAge.setBirthdate(LocalDate.now().minusYears(10));
+        List<UserImportRow> rows = List.of(
+                UserImportRow.notReadable("Row could not be read: bad date"),
+                row("andriy1"),
+                UserImportRow.of(underAge),
+                row("andriy2"),
+                UserImportRow.notReadable("Row could not be read: bad quotes"));
+        // Act
+        UserImportResponse response = userImportService.importUsers(rows.iterator());
+        // Assert
+        assertEquals(5, response.getTotal());
+        assertEquals(2, response.getCreated());
+        assertEquals(3, response.getRejected());
+        List<UserImportResult> results = response.getResults();
+        assertEquals(List.of(1, 2, 3, 4, 5), results.stream().map(UserImportResult::getRow).toList());
+        assertEquals("Row could not be read: bad date", results.get(0).getMessage());
+        assertEquals(UserImportResult.Status.CREATED, results.get(1).getStatus());
+        assertEquals(UserImportResult.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(UserImportResult.Status.CREATED, results.get(3).getStatus());
+        assertEquals("Row could not be read: bad quotes", results.get(4).getMessage());
+        // the last chunk holds only the unreadable row, so it opens no transaction
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    private static UserImportRow row(String name) {
+        return UserImportRow.of(user(name));
+    }
+
+    private static UserDTO user(String name) {
+        return UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email(name + "@ostapenko.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package org.kasarab.cs_demo.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.kasarab.cs_demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against in-memory H2 with the application cache off, so every read goes through Hibernate's
+ * second-level and query caches.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "user.cache.enabled=false"
+})
+public class UserServiceImplSecondLevelCacheTests {
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testFindById_NotStaleAfterUpdate() {
+        // Arrange
+        Long userId = createUser("Andriy", "andriy@ostapenko.com", LocalDate.of(2000, 8, 19));
+        userService.findById(userId);
+        // Act
+        UserDTO cached = userService.findById(userId);
+        userService.update(userId, user("Andrii", "andriy@ostapenko.com", LocalDate.of(2000, 8, 19)));
+        UserDTO updated = userService.findById(userId);
+        // Assert
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertEquals("Andriy", cached.getFirstname());
+        assertEquals("Andrii", updated.getFirstname());
+    }
+
+    @Test
+    public void testFindById_NotServedAfterDelete() {
+        // Arrange
+        Long userId = createUser("Mykola", "mykola@petrenko.com", LocalDate.of(1995, 3, 1));
+        userService.findById(userId);
+        userService.findById(userId);
+        // Act
+        userService.delete(userId);
+        // Assert
+        assertThrows(UserServiceException.class, () -> userService.findById(userId));
+    }
+
+    @Test
+    public void testFindUsersByBirthday_NotQueryCached() {
+        // Arrange
+        LocalDate dateFrom = LocalDate.of(1970, 1, 1);
+        LocalDate dateTo = LocalDate.of(1970, 12, 31);
+        Long movedId = createUser("Olena", "olena@kovalenko.com", LocalDate.of(1970, 5, 5));
+        Long deletedId = createUser("Taras", "taras@shevchenko.com", LocalDate.of(1970, 6, 6));
+        statistics.clear();
+        // Act
+        List<UserDTO> before = userService.findUsersByBirthday(dateFrom, dateTo);
+        userService.update(movedId, user("Olena", "olena@kovalenko.com", LocalDate.of(1965, 5, 5)));
+        List<UserDTO> afterUpdate = userService.findUsersByBirthday(dateFrom, dateTo);
+        userService.delete(deletedId);
+        List<UserDTO> afterDelete = userService.findUsersByBirthday(dateFrom, dateTo);
+        // Assert
+        assertEquals(0, statistics.getQueryCachePutCount());
+        assertEquals(2, before.size());
+        assertEquals(1, afterUpdate.size());
+        assertEquals("Taras", afterUpdate.get(0).getFirstname());
+        assertTrue(afterDelete.isEmpty());
+    }
+
+    @Test
+    public void testFindByFirstname_ServedFromQueryCache() {
+        // Arrange
+        createUser("Bohdan", "bohdan@khmelnytsky.com", LocalDate.of(1990, 1, 1));
+        statistics.clear();
+        // Act
+        Long userId = userRepository.findByFirstname("Bohdan").orElseThrow().getId();
+        // Assert
+        assertNotNull(userId);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getQueryCacheMissCount());
+    }
+
+    private Long createUser(String firstname, String email, LocalDate birthdate) {
+        userService.create(user(firstname, email, birthdate));
+        return userRepository.findByFirstname(firstname).orElseThrow().getId();
+    }
+
+    private static UserDTO user(String firstname, String email, LocalDate birthdate) {
+        return UserDTO.builder()
+                .firstname(firstname)
+                .lastname("Ostapenko")
+                .birthdate(birthdate)
+                .email(email)
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+    }
+}
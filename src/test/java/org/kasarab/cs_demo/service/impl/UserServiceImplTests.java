@@ -1,20 +1,49 @@
 package org.kasarab.cs_demo.service.impl;
 
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kasarab.cs_demo.domain.UserBatchResponse;
+import org.kasarab.cs_demo.domain.UserBatchResult;
+import org.kasarab.cs_demo.domain.UserCursorResponse;
 import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserListVersion;
+import org.kasarab.cs_demo.domain.UserSearchResponse;
+import org.kasarab.cs_demo.domain.UserVersion;
 import org.kasarab.cs_demo.entity.User;
 import org.kasarab.cs_demo.exceptions.UserServiceException;
 import org.kasarab.cs_demo.repository.UserRepository;
+import org.kasarab.cs_demo.service.cache.SingleFlight;
+import org.kasarab.cs_demo.service.cache.UserCache;
+import org.kasarab.cs_demo.service.cache.UserListVersionCache;
+import org.kasarab.cs_demo.service.index.EmailIndex;
+import org.kasarab.cs_demo.service.index.UserSearchIndex;
+import org.kasarab.cs_demo.service.mapper.DirectUserMapper;
+import org.kasarab.cs_demo.service.mapper.UserMapper;
+import org.kasarab.cs_demo.service.queue.UserWriteQueue;
+import org.kasarab.cs_demo.service.utils.CursorUtils;
+import org.kasarab.cs_demo.service.validation.UserValidator;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,12 +54,41 @@ public class UserServiceImplTests {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserMapper userMapper = new DirectUserMapper();
+
+    @Spy
+    private UserCache userCache = new UserCache(true, 100, Duration.ofMinutes(1));
+
+    @Spy
+    private EmailIndex emailIndex = new EmailIndex(true, 1000, 0.01);
+
+    @Spy
+    private UserValidator userValidator = new UserValidator(18);
+
+    @Spy
+    private UserSearchIndex userSearchIndex = new UserSearchIndex(1);
+
     @Mock
-    private ModelMapper modelMapper;
+    private UserWriteQueue userWriteQueue;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(10));
+
+    @Spy
+    private UserListVersionCache userListVersionCache = new UserListVersionCache(Duration.ofMinutes(1));
 
     @InjectMocks
     private UserServiceImpl userService;
 
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(userService, "maxPageSize", 100);
+    }
+
     @Test
     public void testCreate_ValidUser() {
         // Arrange
@@ -42,16 +100,6 @@ public class UserServiceImplTests {
                 .address("Lviv")
                 .phoneNumber("+380987654321")
                 .build();
-        User user = User.builder()
-                .firstname("Andriy")
-                .lastname("Ostapenko")
-                .birthdate(LocalDate.of(2000, 8, 19))
-                .email("andriy@ostapenko.com")
-                .address("Lviv")
-                .phoneNumber("+380987654321")
-                .build();
-
-        when(modelMapper.map(any(UserDTO.class), eq(User.class))).thenReturn(user);
         // Act
         userService.create(userDTO);
         // Assert
@@ -192,7 +240,7 @@ public class UserServiceImplTests {
     public void testFindByFirstname_UserNotFound() {
         // Arrange
         String firstname = "Ivan";
-        when(userRepository.findByFirstname(firstname)).thenReturn(Optional.empty());
+        when(userRepository.findDtoByFirstname(firstname)).thenReturn(Optional.empty());
         // Act & Assert
         assertThrows(UserServiceException.class, () -> userService.findByFirstname(firstname));
     }
@@ -201,7 +249,7 @@ public class UserServiceImplTests {
     public void testFindByLastname_UserNotFound() {
         // Arrange
         String lastname = "Salash";
-        when(userRepository.findByLastname(lastname)).thenReturn(Optional.empty());
+        when(userRepository.findDtoByLastname(lastname)).thenReturn(Optional.empty());
         // Act & Assert
         assertThrows(UserServiceException.class, () -> userService.findByLastname(lastname));
     }
@@ -231,7 +279,7 @@ public class UserServiceImplTests {
     @Test
     public void testFindAll_NoUsers() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(userRepository.findAllDtos()).thenReturn(Collections.emptyList());
         // Act
         List<UserDTO> result = userService.findAll();
         // Assert
@@ -242,9 +290,8 @@ public class UserServiceImplTests {
     @Test
     public void testFindAll_WithUsers() {
         // Arrange
-        List<User> users = List.of(
-                User.builder()
-                        .id(1L)
+        List<UserDTO> users = List.of(
+                UserDTO.builder()
                         .firstname("Andriy")
                         .lastname("Ostapenko")
                         .birthdate(LocalDate.of(2000, 8, 19))
@@ -253,8 +300,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build(),
 
-                User.builder()
-                        .id(2L)
+                UserDTO.builder()
                         .firstname("Ivan")
                         .lastname("Marciv")
                         .birthdate(LocalDate.of(2005, 4, 8))
@@ -263,8 +309,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380677654321")
                         .build(),
 
-                User.builder()
-                        .id(3L)
+                UserDTO.builder()
                         .firstname("Olena")
                         .lastname("Vasb")
                         .birthdate(LocalDate.of(1998, 12, 15))
@@ -273,8 +318,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build(),
 
-                User.builder()
-                        .id(4L)
+                UserDTO.builder()
                         .firstname("Petro")
                         .lastname("Myhasb")
                         .birthdate(LocalDate.of(1996, 1, 22))
@@ -283,8 +327,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build(),
 
-                User.builder()
-                        .id(5L)
+                UserDTO.builder()
                         .firstname("Nina")
                         .lastname("Kych")
                         .birthdate(LocalDate.of(2001, 4, 29))
@@ -293,7 +336,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build()
         );
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllDtos()).thenReturn(users);
         // Act
         List<UserDTO> result = userService.findAll();
         // Assert
@@ -301,14 +344,103 @@ public class UserServiceImplTests {
         assertEquals(users.size(), result.size());
     }
 
+    @Test
+    public void testStreamAll_DetachesEachRowAfterWriting() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "entityManager", entityManager);
+        User first = User.builder().id(1L).firstname("Andriy").email("andriy@ostapenko.com").build();
+        User second = User.builder().id(2L).firstname("Ivan").email("ivan@marciv.com").build();
+        when(userRepository.streamAll()).thenReturn(Stream.of(first, second));
+        List<String> written = new ArrayList<>();
+        // Act
+        long count = userService.streamAll(user -> {
+            // the previous row is already detached, the current one not yet
+            verify(entityManager, times(written.size())).detach(any());
+            written.add(user.getEmail());
+        });
+        // Assert
+        assertEquals(2, count);
+        assertEquals(List.of("andriy@ostapenko.com", "ivan@marciv.com"), written);
+        InOrder inOrder = inOrder(entityManager);
+        inOrder.verify(entityManager).detach(first);
+        inOrder.verify(entityManager).detach(second);
+    }
+
+    @Test
+    public void testStreamAll_EmptyTable() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "entityManager", entityManager);
+        when(userRepository.streamAll()).thenReturn(Stream.empty());
+        List<UserDTO> written = new ArrayList<>();
+        // Act
+        long count = userService.streamAll(written::add);
+        // Assert
+        assertEquals(0, count);
+        assertTrue(written.isEmpty());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    public void testStreamUsersByBirthday_WritesEachRowBeforeReadingTheNext() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "entityManager", entityManager);
+        LocalDate dateFrom = LocalDate.of(1998, 1, 1);
+        LocalDate dateTo = LocalDate.of(2003, 12, 31);
+        List<User> rows = List.of(
+                User.builder().id(1L).email("andriy@ostapenko.com").birthdate(LocalDate.of(1999, 1, 1)).build(),
+                User.builder().id(2L).email("ivan@marciv.com").birthdate(LocalDate.of(2000, 1, 1)).build(),
+                User.builder().id(3L).email("olena@vasb.com").birthdate(LocalDate.of(2001, 1, 1)).build());
+        int[] read = new int[1];
+        when(userRepository.streamByBirthdateBetween(dateFrom, dateTo))
+                .thenReturn(rows.stream().peek(user -> read[0]++));
+        List<Integer> readWhenWritten = new ArrayList<>();
+        // Act
+        long count = userService.streamUsersByBirthday(dateFrom, dateTo, user -> readWhenWritten.add(read[0]));
+        // Assert
+        assertEquals(3, count);
+        assertEquals(List.of(1, 2, 3), readWhenWritten);
+        verify(entityManager, times(3)).detach(any());
+    }
+
+    @Test
+    public void testFindUsersByBirthdayAfter_CursorFromLastRowOfPage() {
+        // Arrange
+        LocalDate dateFrom = LocalDate.of(1998, 1, 1);
+        LocalDate dateTo = LocalDate.of(2003, 12, 31);
+        LocalDate birthdate = LocalDate.of(2000, 8, 19);
+        List<User> rows = List.of(
+                User.builder().id(3L).birthdate(birthdate).build(),
+                User.builder().id(4L).birthdate(birthdate).build(),
+                User.builder().id(5L).birthdate(birthdate).build());
+        when(userRepository.findNextByBirthdateBetween(eq(dateFrom), eq(dateTo), eq(birthdate), eq(2L), any()))
+                .thenReturn(rows);
+        // Act
+        UserCursorResponse result = userService.findUsersByBirthdayAfter(dateFrom, dateTo,
+                CursorUtils.encode(birthdate, 2L), 2);
+        // Assert
+        assertEquals(2, result.getUsers().size());
+        assertFalse(result.isLast());
+        assertEquals(new CursorUtils.BirthdateCursor(birthdate, 4L), CursorUtils.decodeBirthdate(result.getNextCursor()));
+    }
+
+    @Test
+    public void testFindUsersByBirthdayAfter_MalformedCursor() {
+        // Act
+        UserServiceException exception = assertThrows(UserServiceException.class,
+                () -> userService.findUsersByBirthdayAfter(LocalDate.of(1998, 1, 1), LocalDate.of(2003, 12, 31),
+                        CursorUtils.encode(7L), 2));
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     public void testFindUsersByBirthday_ValidRange() {
         // Arrange
         LocalDate dateFrom = LocalDate.of(1998, 1, 1);
         LocalDate dateTo = LocalDate.of(2003, 12, 31);
-        List<User> users = List.of(
-                User.builder()
-                        .id(1L)
+        List<UserDTO> users = List.of(
+                UserDTO.builder()
                         .firstname("Andriy")
                         .lastname("Ostapenko")
                         .birthdate(LocalDate.of(2000, 8, 19))
@@ -317,8 +449,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build(),
 
-                User.builder()
-                        .id(2L)
+                UserDTO.builder()
                         .firstname("Ivan")
                         .lastname("Marciv")
                         .birthdate(LocalDate.of(2005, 4, 8))
@@ -327,8 +458,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380677654321")
                         .build(),
 
-                User.builder()
-                        .id(3L)
+                UserDTO.builder()
                         .firstname("Olena")
                         .lastname("Vasb")
                         .birthdate(LocalDate.of(1998, 12, 15))
@@ -337,8 +467,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build(),
 
-                User.builder()
-                        .id(4L)
+                UserDTO.builder()
                         .firstname("Petro")
                         .lastname("Myhasb")
                         .birthdate(LocalDate.of(1996, 1, 22))
@@ -347,8 +476,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build(),
 
-                User.builder()
-                        .id(5L)
+                UserDTO.builder()
                         .firstname("Nina")
                         .lastname("Kych")
                         .birthdate(LocalDate.of(2001, 4, 29))
@@ -357,7 +485,7 @@ public class UserServiceImplTests {
                         .phoneNumber("+380987654321")
                         .build()
         );
-        when(userRepository.findByBirthdateBetween(dateFrom, dateTo)).thenReturn(users);
+        when(userRepository.findDtosByBirthdateBetween(dateFrom, dateTo)).thenReturn(users);
         // Act
         List<UserDTO> result = userService.findUsersByBirthday(dateFrom, dateTo);
         // Assert
@@ -373,4 +501,416 @@ public class UserServiceImplTests {
         assertThrows(UserServiceException.class, () -> userService.findUsersByBirthday(dateFrom, dateTo));
     }
 
+    @Test
+    public void testGetAllUsersAfter_HasNextPage() {
+        // Arrange
+        List<User> users = List.of(
+                User.builder().id(3L).firstname("Olena").build(),
+                User.builder().id(4L).firstname("Petro").build(),
+                User.builder().id(5L).firstname("Nina").build()
+        );
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(users);
+        // Act
+        UserCursorResponse result = userService.getAllUsersAfter(CursorUtils.encode(2L), 2, false);
+        // Assert
+        assertEquals(2, result.getUsers().size());
+        assertFalse(result.isLast());
+        assertEquals(4L, CursorUtils.decodeId(result.getNextCursor()));
+        assertNull(result.getTotalElements());
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    public void testGetAllUsersAfter_PageSizeAboveMaximum() {
+        // Act
+        UserServiceException tooLarge = assertThrows(UserServiceException.class,
+                () -> userService.getAllUsersAfter(null, 101, false));
+        UserServiceException overflow = assertThrows(UserServiceException.class,
+                () -> userService.getAllUsersAfter(null, Integer.MAX_VALUE, false));
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, tooLarge.getHttpStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, overflow.getHttpStatus());
+        assertThrows(UserServiceException.class, () -> userService.getAllUsersPagination(0, 101));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testGetAllUsersAfter_InvalidCursor() {
+        // Act & Assert
+        assertThrows(UserServiceException.class, () -> userService.getAllUsersAfter("not a cursor", 5, false));
+    }
+
+    @Test
+    public void testFindById_CachedUntilUpdated() {
+        // Arrange
+        Long userId = 1L;
+        User userFromDb = User.builder()
+                .id(userId)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Andrii")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(userFromDb));
+        // Act
+        userService.findById(userId);
+        userService.findById(userId);
+        userService.update(userId, userDTO);
+        UserDTO result = userService.findById(userId);
+        // Assert
+        assertEquals("Andrii", result.getFirstname());
+        verify(userRepository, times(3)).findById(userId);
+        assertEquals(1, userService.getCacheStats().getHitCount());
+    }
+
+    @Test
+    public void testUpdate_VersionMismatch() {
+        // Arrange
+        Long userId = 1L;
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Andrii")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        User userFromDb = User.builder()
+                .id(userId)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .version(3)
+                .build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(userFromDb));
+        // Act
+        UserServiceException exception = assertThrows(UserServiceException.class,
+                () -> userService.update(userId, userDTO, List.of(2L, 4L)));
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getHttpStatus());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void testFindVersionById_FromCache() {
+        // Arrange
+        Long userId = 1L;
+        User userFromDb = User.builder()
+                .id(userId)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .version(7)
+                .build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(userFromDb));
+        userService.findById(userId);
+        // Act
+        UserVersion version = userService.findVersionById(userId);
+        // Assert
+        assertEquals("\"7\"", version.eTag());
+        verify(userRepository, never()).findVersionById(userId);
+    }
+
+    @Test
+    public void testGetListVersion_HeldUntilWrite() {
+        // Arrange
+        Long userId = 1L;
+        User userFromDb = User.builder()
+                .id(userId)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Andrii")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        when(userRepository.findListVersion())
+                .thenReturn(new UserListVersion(1L, 1L, 0L), new UserListVersion(1L, 1L, 1L));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(userFromDb));
+        // Act
+        UserListVersion first = userService.getListVersion();
+        UserListVersion repeated = userService.getListVersion();
+        userService.update(userId, userDTO);
+        UserListVersion updated = userService.getListVersion();
+        // Assert
+        assertSame(first, repeated);
+        assertEquals("\"1-1-1\"", updated.eTag());
+        verify(userRepository, times(2)).findListVersion();
+    }
+
+    @Test
+    public void testUpdate_InvalidEmail() {
+        // Arrange
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko")
+                .build();
+        // Act & Assert
+        assertThrows(UserServiceException.class, () -> userService.update(1L, userDTO));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    public void testUpdate_EmailTakenByAnotherUser() {
+        // Arrange
+        Long userId = 1L;
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("ivan@petrenko.com")
+                .build();
+        User userFromDb = User.builder()
+                .id(userId)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(userFromDb));
+        when(userRepository.existsByEmail("ivan@petrenko.com")).thenReturn(true);
+        // Act & Assert
+        assertThrows(UserServiceException.class, () -> userService.update(userId, userDTO));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void testSearchUsers_IndexStillLoading() {
+        // Arrange
+        userSearchIndex.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        // Act
+        UserServiceException exception = assertThrows(UserServiceException.class,
+                () -> userService.searchUsers("andriy", false, 0, 5));
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void testSearchUsers_DropsDeletedUsers() {
+        // Arrange
+        User andriy = User.builder()
+                .id(1L)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        userSearchIndex.load(builder -> {
+        });
+        userSearchIndex.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        userSearchIndex.add(2L, "Andrii", "Petrenko", "andrii@petrenko.com");
+        when(userRepository.findAllById(any())).thenReturn(List.of(andriy));
+        // Act
+        UserSearchResponse result = userService.searchUsers("ANDR", false, 0, 5);
+        // Assert
+        assertEquals(1, result.getUsers().size());
+        assertEquals("Andriy", result.getUsers().get(0).getFirstname());
+        assertTrue(result.isLast());
+        verify(userSearchIndex).remove(2L, "andrii");
+    }
+
+    @Test
+    public void testSearchUsers_FuzzyAndAllWords() {
+        // Arrange
+        User andriy = User.builder()
+                .id(1L)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        User andrii = User.builder()
+                .id(2L)
+                .firstname("Andrii")
+                .lastname("Petrenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andrii@petrenko.com")
+                .build();
+        userSearchIndex.load(builder -> {
+        });
+        userSearchIndex.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        userSearchIndex.add(2L, "Andrii", "Petrenko", "andrii@petrenko.com");
+        when(userRepository.findAllById(any())).thenReturn(List.of(andriy, andrii));
+        // Act
+        UserSearchResponse fuzzy = userService.searchUsers("andryi ostap", true, 0, 5);
+        UserSearchResponse exact = userService.searchUsers("andryi ostap", false, 0, 5);
+        // Assert
+        assertEquals(1, fuzzy.getUsers().size());
+        assertEquals("Ostapenko", fuzzy.getUsers().get(0).getLastname());
+        assertTrue(exact.getUsers().isEmpty());
+    }
+
+    @Test
+    public void testSearchUsers_LoadsOnlyTheRequestedPage() {
+        // Arrange
+        userSearchIndex.load(builder -> {
+        });
+        for (long id = 1; id <= 30; id++) {
+            userSearchIndex.add(id, "Andriy", "Last" + id, "user" + id + "@example.com");
+        }
+        userSearchIndex.add(31L, "Ivan", "Last31", "user31@example.com");
+        when(userRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> User.builder()
+                            .id(id)
+                            .firstname("Andriy")
+                            .lastname("Last" + id)
+                            .birthdate(LocalDate.of(2000, 8, 19))
+                            .email("user" + id + "@example.com")
+                            .build())
+                    .toList();
+        });
+        // Act
+        UserSearchResponse result = userService.searchUsers("andriy last", false, 2, 5);
+        // Assert
+        // andriy has fewer postings than the 31 last* terms, so it drives the order: its ids ascending
+        assertEquals(List.of("Last11", "Last12", "Last13", "Last14", "Last15"),
+                result.getUsers().stream().map(UserDTO::getLastname).toList());
+        assertFalse(result.isLast());
+        // the first two pages are skipped in memory; one more user tells that a next page exists
+        verify(userRepository).findAllById(List.of(11L, 12L, 13L, 14L, 15L, 16L));
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    public void testUpdate_ReindexesUser() {
+        // Arrange
+        Long userId = 1L;
+        User userFromDb = User.builder()
+                .id(userId)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Mykola")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .build();
+        userSearchIndex.add(userId, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(userFromDb));
+        // Act
+        userService.update(userId, userDTO);
+        // Assert
+        // only the unchanged email still starts with the old first name
+        assertEquals("andriy@ostapenko.com", userSearchIndex.search("andriy", false).next().term());
+        assertEquals(userId, userSearchIndex.search("mykola", false).next().userId());
+    }
+
+    @Test
+    public void testSearchUsers_EmptyQuery() {
+        // Act & Assert
+        assertThrows(UserServiceException.class, () -> userService.searchUsers("  ", false, 0, 5));
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void testEnqueueCreate_ValidatesBeforeQueueing() {
+        // Arrange
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2012, 5, 2))
+                .email("andriy@ostapenko.com")
+                .build();
+        // Act & Assert
+        assertThrows(UserServiceException.class, () -> userService.enqueueCreate(userDTO));
+        verify(userWriteQueue, never()).enqueue(any());
+    }
+
+    @Test
+    public void testFindAllById_RequestOrderWithNotFound() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "batchGetMaxIds", 10);
+        ReflectionTestUtils.setField(userService, "batchGetChunkSize", 10);
+        userCache.get(2L, id -> UserDTO.builder().firstname("Cached").build());
+        when(userRepository.findAllById(List.of(3L, 1L)))
+                .thenReturn(List.of(User.builder().id(1L).firstname("Andriy").build()));
+        // Act
+        UserBatchResponse result = userService.findAllById(List.of(3L, 2L, 1L, 2L));
+        // Assert
+        assertEquals(List.of(3L, 2L, 1L, 2L), result.getUsers().stream().map(UserBatchResult::getId).toList());
+        assertEquals(UserBatchResult.Status.NOT_FOUND, result.getUsers().get(0).getStatus());
+        assertNull(result.getUsers().get(0).getUser());
+        assertEquals("Cached", result.getUsers().get(1).getUser().getFirstname());
+        assertEquals("Andriy", result.getUsers().get(2).getUser().getFirstname());
+        assertEquals(3, result.getFound());
+        assertEquals(1, result.getNotFound());
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    public void testFindAllById_OneQueryPerChunk() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "batchGetMaxIds", 10);
+        ReflectionTestUtils.setField(userService, "batchGetChunkSize", 2);
+        // Act
+        UserBatchResponse result = userService.findAllById(List.of(1L, 2L, 3L, 4L, 5L));
+        // Assert
+        assertEquals(5, result.getNotFound());
+        verify(userRepository).findAllById(List.of(1L, 2L));
+        verify(userRepository).findAllById(List.of(3L, 4L));
+        verify(userRepository).findAllById(List.of(5L));
+    }
+
+    @Test
+    public void testFindAllById_TooManyIds() {
+        // Arrange
+        ReflectionTestUtils.setField(userService, "batchGetMaxIds", 2);
+        ReflectionTestUtils.setField(userService, "batchGetChunkSize", 2);
+        // Act
+        UserServiceException exception = assertThrows(UserServiceException.class,
+                () -> userService.findAllById(List.of(1L, 2L, 3L)));
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertThrows(UserServiceException.class, () -> userService.findAllById(List.of()));
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void testFindUsersByBirthday_ConcurrentSearchesShareOneQuery() throws Exception {
+        // Arrange
+        int callers = 32;
+        LocalDate dateFrom = LocalDate.of(1998, 1, 1);
+        LocalDate dateTo = LocalDate.of(2003, 12, 31);
+        when(userRepository.findDtosByBirthdateBetween(dateFrom, dateTo)).thenAnswer(invocation -> {
+            // the query is still running when every other search arrives
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (singleFlight.sharedCount() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return List.of(UserDTO.builder().firstname("Andriy").build());
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<List<UserDTO>>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> userService.findUsersByBirthday(dateFrom, dateTo)));
+        }
+        for (Future<List<UserDTO>> future : futures) {
+            assertEquals("Andriy", future.get(10, TimeUnit.SECONDS).get(0).getFirstname());
+        }
+        executor.shutdown();
+
+        // Assert
+        verify(userRepository, times(1)).findDtosByBirthdateBetween(dateFrom, dateTo);
+    }
+
 }
@@ -0,0 +1,76 @@
+package org.kasarab.cs_demo.service.index;
+
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.EmailIndexStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailIndexTests {
+
+    @Test
+    public void testMightContain_NotReadyAnswersTrue() {
+        // Arrange
+        EmailIndex emailIndex = new EmailIndex(true, 1000, 0.01);
+        // Act & Assert
+        assertTrue(emailIndex.mightContain("andriy@ostapenko.com"));
+    }
+
+    @Test
+    public void testMightContain_NormalizesEmail() {
+        // Arrange
+        EmailIndex emailIndex = new EmailIndex(true, 1000, 0.01);
+        emailIndex.add("Andriy@Ostapenko.com");
+        emailIndex.markReady();
+        // Act & Assert
+        assertTrue(emailIndex.mightContain(" andriy@ostapenko.com"));
+    }
+
+    @Test
+    public void testConcurrentAdds_NoFalseNegatives() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 25_000;
+        EmailIndex emailIndex = new EmailIndex(true, threads * perThread, 0.01);
+        emailIndex.markReady();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    emailIndex.add("user" + thread + "-" + i + "@example.com");
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertTrue(emailIndex.mightContain("user" + t + "-" + i + "@example.com"));
+            }
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (emailIndex.mightContain("unknown" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        EmailIndexStats stats = emailIndex.stats();
+        assertEquals(threads * perThread, stats.getInsertions());
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+        assertTrue(stats.getExpectedFalsePositiveRate() < 0.02);
+    }
+}
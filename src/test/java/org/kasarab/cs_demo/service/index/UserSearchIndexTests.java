@@ -0,0 +1,221 @@
+package org.kasarab.cs_demo.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserSearchIndexTests {
+
+    @Test
+    public void testSearch_ExactThenPrefixThenEmail() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        index.add(1L, "Andriyana", "Koval", "koval@example.com");
+        index.add(2L, "Andriy", "Ostapenko", "ostapenko@example.com");
+        index.add(3L, "Ivan", "Petrenko", "andriy.petrenko@example.com");
+        // Act
+        List<Long> ids = ids(index.search("andriy", false));
+        // Assert
+        assertEquals(List.of(2L, 1L, 3L), ids);
+    }
+
+    @Test
+    public void testSearch_FuzzyOnlyWhenAsked() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        index.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        index.add(2L, "Mykola", "Ostapchuk", "mykola@ostapchuk.com");
+        // Act
+        List<Long> exact = ids(index.search("ostapneko", false));
+        List<Long> fuzzy = ids(index.search("ostapneko", true));
+        // Assert
+        assertTrue(exact.isEmpty());
+        assertEquals(List.of(1L), fuzzy);
+    }
+
+    @Test
+    public void testSearch_FuzzyKeepsPrefix() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        index.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        // Act & Assert
+        assertEquals(List.of(1L), ids(index.search("andrei", true)));
+        assertTrue(ids(index.search("endriy", true)).isEmpty());
+        // too short to tolerate a typo
+        assertTrue(ids(index.search("ax", true)).isEmpty());
+    }
+
+    @Test
+    public void testMatches_EveryWord() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        // Act & Assert
+        assertTrue(index.matches(List.of("andriy", "ostap"), false, "Andriy", "Ostapenko", "a@b.com"));
+        assertTrue(index.matches(List.of("andryi", "ostap"), true, "Andriy", "Ostapenko", "a@b.com"));
+        assertFalse(index.matches(List.of("andriy", "petr"), true, "Andriy", "Ostapenko", "a@b.com"));
+        assertTrue(index.matches(List.of("a@b"), false, "Andriy", "Ostapenko", "A@B.com"));
+    }
+
+    @Test
+    public void testRemove_LastPostingDropsTerm() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        index.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        index.add(2L, "Andriy", "Petrenko", "andriy@petrenko.com");
+        // Act
+        index.remove(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        // Assert
+        assertEquals(List.of(2L), ids(index.search("andriy", false)));
+        assertEquals(3, index.termCount());
+    }
+
+    @Test
+    public void testLoad_ReplacesIndex() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        index.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        // Act
+        index.load(builder -> builder
+                .add(3L, "Olena", "Koval", "olena@koval.com")
+                .add(2L, "Olena", "Shevchenko", "olena@shevchenko.com"));
+        // Assert
+        assertTrue(index.isReady());
+        assertTrue(ids(index.search("andriy", false)).isEmpty());
+        assertEquals(List.of(2L, 3L), ids(index.search("olena", false)));
+    }
+
+    @Test
+    public void testLoad_KeepsWritesMadeWhileLoading() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        index.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        // Act: a user created and a user renamed after the rows were read, but before the swap
+        index.load(builder -> {
+            builder.add(1L, "Andriy", "Ostapenko", "andriy@ostapenko.com")
+                    .add(2L, "Olena", "Koval", "olena@koval.com");
+            index.add(3L, "Taras", "Shevchenko", "taras@shevchenko.com");
+            index.remove(2L, "Olena", "Koval", "olena@koval.com");
+            index.add(2L, "Oksana", "Koval", "olena@koval.com");
+        });
+        // Assert
+        assertEquals(List.of(3L), ids(index.search("taras", false)));
+        assertEquals(List.of(2L), ids(index.search("oksana", false)));
+        // found by the unchanged email only: the old first name is gone
+        assertEquals(List.of(2L), ids(index.search("olena", false)));
+        assertEquals(9, index.termCount());
+        assertEquals(List.of(1L), ids(index.search("andriy", false)));
+        // writes after the load go straight to the new postings
+        index.add(4L, "Taras", "Koval", "taras@koval.com");
+        assertEquals(List.of(3L, 4L), ids(index.search("taras", false)));
+    }
+
+    @Test
+    public void testSearchAllWords_DrivenByRarestWord() {
+        // Arrange
+        UserSearchIndex index = new UserSearchIndex(1);
+        for (long id = 1; id <= 1000; id++) {
+            index.add(id, "Andriy", "Last" + id, "user" + id + "@example.com");
+        }
+        index.add(1001L, "Ivan", "Ostapenko", "ivan@ostapenko.com");
+        index.add(1002L, "Andriy", "Ostapenko", "andriy@ostapenko.com");
+        index.add(1003L, "Andriyana", "Ostapchuk", "andriyana@ostapchuk.com");
+        // Act
+        List<Long> both = ids(index.search(List.of("andriy", "ostap"), false));
+        List<Long> broad = ids(index.search(List.of("last", "andriy"), false));
+        List<Long> none = ids(index.search(List.of("andriy", "nobody"), false));
+        // Assert
+        // ostap is the rarer word, so the users come in the order of its terms
+        assertEquals(List.of(1003L, 1002L), both);
+        assertEquals(1000, broad.size());
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    public void testPostingList_BlocksStaySortedThroughWrites() {
+        // Arrange
+        int count = UserSearchIndex.PostingList.BLOCK_SIZE * 4 + 17;
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            ids.add(id * 2);
+        }
+        Collections.shuffle(ids, new Random(42));
+        UserSearchIndex.PostingList postings = UserSearchIndex.PostingList.EMPTY;
+        // Act
+        for (long id : ids) {
+            postings = postings.with(id);
+        }
+        postings = postings.with(4L);
+        for (long id = 2; id <= 200; id += 2) {
+            postings = postings.without(id);
+        }
+        // Assert
+        assertEquals(count - 100, postings.size());
+        assertFalse(postings.contains(200L));
+        assertTrue(postings.contains(202L));
+        assertFalse(postings.contains(203L));
+        long previous = 0;
+        int seen = 0;
+        PrimitiveIterator.OfLong iterator = postings.iterator();
+        while (iterator.hasNext()) {
+            long id = iterator.nextLong();
+            assertTrue(id > previous);
+            previous = id;
+            seen++;
+        }
+        assertEquals(count - 100, seen);
+        assertNull(UserSearchIndex.PostingList.EMPTY.with(7L).without(7L));
+    }
+
+    @Test
+    public void testDistance_PrunesHopelessPrefix() {
+        // Act & Assert
+        assertEquals(1, UserSearchIndex.distance("andrii", "andriy", 2));
+        assertEquals(3, UserSearchIndex.distance("andriy", "and", 2));
+        assertEquals(-4, UserSearchIndex.distance("andriy", "axyzriy", 2));
+    }
+
+    @Test
+    public void testConcurrentAdds_AllFound() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 5_000;
+        UserSearchIndex index = new UserSearchIndex(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    long id = (long) thread * perThread + i;
+                    index.add(id, "Shared", "Last" + id, "user" + id + "@example.com");
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(threads * perThread, ids(index.search("shared", false)).size());
+        assertEquals(List.of(12_345L), ids(index.search("last12345", false)));
+    }
+
+    private static List<Long> ids(Iterator<UserSearchIndex.Hit> hits) {
+        List<Long> ids = new ArrayList<>();
+        hits.forEachRemaining(hit -> ids.add(hit.userId()));
+        return ids;
+    }
+}
@@ -0,0 +1,63 @@
+package org.kasarab.cs_demo.service.mapper;
+
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.entity.User;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectUserMapperTests {
+
+    private final UserMapper directMapper = new DirectUserMapper();
+
+    private final UserMapper modelMapper = new ModelMapperUserMapper(new ModelMapper());
+
+    @Test
+    public void testToDto_SameAsModelMapper() {
+        // Arrange
+        User user = User.builder()
+                .id(1L)
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+        // Act & Assert
+        assertEquals(modelMapper.toDto(user), directMapper.toDto(user));
+    }
+
+    @Test
+    public void testToEntity_SameAsModelMapper() {
+        // Arrange
+        UserDTO userDTO = UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko.com")
+                .address("Lviv")
+                .build();
+        // Act & Assert
+        assertEquals(modelMapper.toEntity(userDTO), directMapper.toEntity(userDTO));
+    }
+
+    @Test
+    public void testToDtoList_KeepsOrder() {
+        // Arrange
+        List<User> users = List.of(
+                User.builder().id(1L).firstname("Andriy").build(),
+                User.builder().id(2L).firstname("Ivan").build()
+        );
+        // Act
+        List<UserDTO> result = directMapper.toDtoList(users);
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("Andriy", result.get(0).getFirstname());
+        assertEquals("Ivan", result.get(1).getFirstname());
+    }
+}
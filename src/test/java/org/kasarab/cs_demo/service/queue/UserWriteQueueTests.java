@@ -0,0 +1,130 @@
+package org.kasarab.cs_demo.service.queue;
+
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.CsDemoApplication;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserWriteStatus;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+import org.kasarab.cs_demo.service.impl.UserServiceImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each test boots its own application on in-memory H2 and closes it, because shutdown is what drains the queue.
+ * The databases outlive the contexts, so rows are counted over plain JDBC afterwards.
+ */
+public class UserWriteQueueTests {
+
+    @Test
+    public void testShutdown_DrainsEveryAcceptedUser() throws Exception {
+        // Arrange
+        String url = "jdbc:h2:mem:write-behind-drain;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        // full batches are written as they fill, the partial last batch only by the drain
+        ConfigurableApplicationContext context = start(url, "user.write-behind.batch-size=100",
+                "user.write-behind.max-latency=1h");
+        UserServiceImpl userService = context.getBean(UserServiceImpl.class);
+        UserWriteQueue userWriteQueue = context.getBean(UserWriteQueue.class);
+        int threads = 8;
+        int perThread = 131;
+        ConcurrentLinkedQueue<String> trackingIds = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    UserWriteStatus status = userService.enqueueCreate(user("user" + thread + "-" + i + "@example.com"));
+                    trackingIds.add(status.getTrackingId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        context.close();
+
+        // Assert
+        assertEquals(threads * perThread, trackingIds.size());
+        assertEquals(threads * perThread, countUsers(url));
+        assertEquals(0, userWriteQueue.size());
+        for (String trackingId : trackingIds) {
+            UserWriteStatus status = userWriteQueue.getStatus(trackingId);
+            assertEquals(UserWriteStatus.State.CREATED, status.getState());
+            assertNotNull(status.getUserId());
+        }
+    }
+
+    @Test
+    public void testEnqueue_FullQueueAndPendingDuplicate() throws Exception {
+        // Arrange
+        String url = "jdbc:h2:mem:write-behind-full;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        ConfigurableApplicationContext context = start(url, "user.write-behind.capacity=3",
+                "user.write-behind.batch-size=100", "user.write-behind.max-latency=1h");
+        UserServiceImpl userService = context.getBean(UserServiceImpl.class);
+        for (int i = 0; i < 3; i++) {
+            userService.enqueueCreate(user("user" + i + "@example.com"));
+        }
+
+        // Act
+        UserServiceException full = assertThrows(UserServiceException.class,
+                () -> userService.enqueueCreate(user("user3@example.com")));
+        UserServiceException duplicate = assertThrows(UserServiceException.class,
+                () -> userService.enqueueCreate(user("user0@example.com")));
+        context.close();
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, full.getHttpStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, duplicate.getHttpStatus());
+        assertEquals(3, countUsers(url));
+    }
+
+    private static ConfigurableApplicationContext start(String url, String... properties) {
+        return new SpringApplicationBuilder(CsDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "user.write-behind.enabled=true")
+                .properties(properties)
+                .run();
+    }
+
+    private static long countUsers(String url) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             ResultSet resultSet = connection.createStatement().executeQuery("select count(*) from users")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static UserDTO user(String email) {
+        return UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(1990, 8, 19))
+                .email(email)
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .build();
+    }
+}
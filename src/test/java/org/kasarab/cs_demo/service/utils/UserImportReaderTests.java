@@ -0,0 +1,183 @@
+package org.kasarab.cs_demo.service.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+import org.kasarab.cs_demo.domain.UserImportRow;
+import org.kasarab.cs_demo.exceptions.UserServiceException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserImportReaderTests {
+
+    private final UserImportReader userImportReader = new UserImportReader(new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    public void testReadJson_Array() throws Exception {
+        // Arrange
+        String body = """
+                [{"firstname":"Andriy","lastname":"Ostapenko","birthdate":"19-08-2000","email":"andriy@ostapenko.com"},
+                 {"firstname":"Ivan","lastname":"Marciv","birthdate":"08-04-2001","email":"ivan@marciv.com"}]
+                """;
+        // Act
+        List<UserDTO> users = users(readAll(userImportReader.readJson(stream(body))));
+        // Assert
+        assertEquals(2, users.size());
+        assertEquals(LocalDate.of(2000, 8, 19), users.get(0).getBirthdate());
+        assertEquals("ivan@marciv.com", users.get(1).getEmail());
+    }
+
+    @Test
+    public void testReadJson_Ndjson() throws Exception {
+        // Arrange
+        String body = """
+                {"firstname":"Andriy","lastname":"Ostapenko","birthdate":"19-08-2000","email":"andriy@ostapenko.com"}
+                {"firstname":"Ivan","lastname":"Marciv","birthdate":"08-04-2001","email":"ivan@marciv.com"}
+                """;
+        // Act
+        List<UserDTO> users = users(readAll(userImportReader.readJson(stream(body))));
+        // Assert
+        assertEquals(2, users.size());
+        assertEquals("Andriy", users.get(0).getFirstname());
+    }
+
+    @Test
+    public void testReadJson_BadRowThenGoodRow() throws Exception {
+        // Arrange
+        String body = """
+                [{"firstname":"Andriy","lastname":"Ostapenko","birthdate":"2000-08-19","email":"andriy@ostapenko.com"},
+                 {"firstname":"Ivan","lastname":"Marciv","birthdate":"08-04-2001","email":"ivan@marciv.com"}]
+                """;
+        // Act
+        List<UserImportRow> rows = readAll(userImportReader.readJson(stream(body)));
+        // Assert
+        assertEquals(2, rows.size());
+        assertNull(rows.get(0).user());
+        assertTrue(rows.get(0).error().contains("2000-08-19"));
+        assertEquals("ivan@marciv.com", rows.get(1).user().getEmail());
+    }
+
+    @Test
+    public void testReadJson_BrokenArray() throws Exception {
+        // Arrange
+        String body = """
+                [{"firstname":"Andriy","lastname":"Ostapenko","birthdate":"19-08-2000","email":"andriy@ostapenko.com"}
+                 {"firstname":"Ivan","lastname":"Marciv","birthdate":"08-04-2001","email":"ivan@marciv.com"}]
+                """;
+        Iterator<UserImportRow> rows = userImportReader.readJson(stream(body));
+        // Act
+        UserImportRow first = rows.next();
+        UserServiceException exception = assertThrows(UserServiceException.class, rows::hasNext);
+        // Assert
+        assertEquals("andriy@ostapenko.com", first.user().getEmail());
+        assertTrue(exception.getMessage().contains("after row 1"));
+    }
+
+    @Test
+    public void testReadNdjson_BrokenLineThenGoodLine() {
+        // Arrange
+        String body = """
+                {"firstname":"Andriy","lastname":"Ostapenko","birthdate":"19-08-2000",
+                {"firstname":"Ivan","lastname":"Marciv","birthdate":"08-04-2001","email":"ivan@marciv.com"}
+                """;
+        // Act
+        List<UserImportRow> rows = readAll(userImportReader.readNdjson(stream(body)));
+        // Assert
+        assertEquals(2, rows.size());
+        assertNotNull(rows.get(0).error());
+        assertEquals("Ivan", rows.get(1).user().getFirstname());
+    }
+
+    @Test
+    public void testReadCsv_WithHeader() throws Exception {
+        // Arrange
+        String body = """
+                email,firstname,lastname,birthdate,address,phoneNumber
+                andriy@ostapenko.com,Andriy,Ostapenko,19-08-2000,Lviv,+380987654321
+
+                ivan@marciv.com,Ivan,Marciv,08-04-2001,,
+                """;
+        // Act
+        List<UserDTO> users = users(readAll(userImportReader.readCsv(stream(body))));
+        // Assert
+        assertEquals(2, users.size());
+        assertEquals("Lviv", users.get(0).getAddress());
+        assertEquals(LocalDate.of(2001, 4, 8), users.get(1).getBirthdate());
+        assertNull(users.get(1).getAddress());
+    }
+
+    @Test
+    public void testReadCsv_QuotedFields() throws Exception {
+        // Arrange
+        String body = """
+                firstname,lastname,birthdate,email,address,phoneNumber
+                Andriy,Ostapenko,19-08-2000,andriy@ostapenko.com,"Shevchenka 1, Lviv",+380987654321
+                Ivan,"Marciv \"\"Jr\"\"\",08-04-2001,ivan@marciv.com, "Kyiv" ,
+                """;
+        // Act
+        List<UserDTO> users = users(readAll(userImportReader.readCsv(stream(body))));
+        // Assert
+        assertEquals("Shevchenka 1, Lviv", users.get(0).getAddress());
+        assertEquals("+380987654321", users.get(0).getPhoneNumber());
+        assertEquals("Marciv \"Jr\"", users.get(1).getLastname());
+        assertEquals("Kyiv", users.get(1).getAddress());
+    }
+
+    @Test
+    public void testReadCsv_UnreadableRowsAreRejected() throws Exception {
+        // Arrange
+        String body = """
+                firstname,lastname,birthdate,email
+                Andriy,Ostapenko,2000-08-19,andriy@ostapenko.com
+                Ivan,Marciv,08-04-2001,"ivan@marciv.com
+                Olena,Vasb,,olena@vasb.com
+                Petro,Myhasb,22-01-1996,petro@myhasb.com
+                """;
+        // Act
+        List<UserImportRow> rows = readAll(userImportReader.readCsv(stream(body)));
+        // Assert
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(0).error().contains("2000-08-19"));
+        assertNotNull(rows.get(1).error());
+        // left to the validator, which rejects it like a JSON row without a birthdate
+        assertNull(rows.get(2).user().getBirthdate());
+        assertEquals("petro@myhasb.com", rows.get(3).user().getEmail());
+    }
+
+    @Test
+    public void testReadCsv_MissingHeader() {
+        // Act & Assert
+        assertThrows(UserServiceException.class, () -> userImportReader.readCsv(stream("firstname,lastname\n")));
+    }
+
+    @Test
+    public void testSplitCsv() {
+        // Act & Assert
+        assertArrayEquals(new String[]{"a", "", "b,c", "d\"e"}, UserImportReader.splitCsv("a,,\"b,c\",\"d\"\"e\""));
+        assertNull(UserImportReader.splitCsv("a,\"b"));
+        assertNull(UserImportReader.splitCsv("a,\"b\"c"));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<UserImportRow> readAll(Iterator<UserImportRow> iterator) {
+        List<UserImportRow> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static List<UserDTO> users(List<UserImportRow> rows) {
+        rows.forEach(row -> assertNull(row.error()));
+        return rows.stream().map(UserImportRow::user).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package org.kasarab.cs_demo.service.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.ExportFormat;
+import org.kasarab.cs_demo.domain.UserDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserStreamWriterTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final UserStreamWriter userStreamWriter = new UserStreamWriter(objectMapper);
+
+    @Test
+    public void testWrite_Ndjson() throws Exception {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // Act
+        long written = userStreamWriter.write(ExportFormat.NDJSON, outputStream, action -> {
+            action.accept(user(0));
+            action.accept(user(1));
+        });
+        // Assert
+        assertEquals(2, written);
+        String body = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("andriy0@ostapenko.com", objectMapper.readTree(lines[0]).get("email").asText());
+        assertEquals("19-08-1990", objectMapper.readTree(lines[1]).get("birthdate").asText());
+    }
+
+    @Test
+    public void testWrite_JsonArray() throws Exception {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // Act
+        long written = userStreamWriter.write(ExportFormat.JSON, outputStream, action -> {
+            action.accept(user(0));
+            action.accept(user(1));
+        });
+        // Assert
+        assertEquals(2, written);
+        JsonNode users = objectMapper.readTree(outputStream.toByteArray());
+        assertTrue(users.isArray());
+        assertEquals(2, users.size());
+        assertEquals("andriy1@ostapenko.com", users.get(1).get("email").asText());
+        assertNull(users.get(0).get("version"));
+    }
+
+    @Test
+    public void testWrite_EmptyTable() throws Exception {
+        // Arrange
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        // Act
+        long ndjsonWritten = userStreamWriter.write(ExportFormat.NDJSON, ndjson, action -> {
+        });
+        long jsonWritten = userStreamWriter.write(ExportFormat.JSON, json, action -> {
+        });
+        // Assert
+        assertEquals(0, ndjsonWritten);
+        assertEquals(0, ndjson.size());
+        assertEquals(0, jsonWritten);
+        assertEquals("[]", json.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWrite_FlushesWhileStreaming() throws Exception {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        int[] sizeAfterFirstThousand = new int[1];
+        // Act
+        userStreamWriter.write(ExportFormat.NDJSON, outputStream, action -> {
+            for (int i = 0; i < 1000; i++) {
+                action.accept(user(i));
+            }
+            sizeAfterFirstThousand[0] = outputStream.size();
+            action.accept(user(1000));
+        });
+        // Assert
+        assertTrue(sizeAfterFirstThousand[0] > 0);
+        assertTrue(sizeAfterFirstThousand[0] < outputStream.size());
+        assertEquals(1001, outputStream.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    private static UserDTO user(int i) {
+        return UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(1990, 8, 19))
+                .email("andriy" + i + "@ostapenko.com")
+                .address("Lviv")
+                .phoneNumber("+380987654321")
+                .version(3)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package org.kasarab.cs_demo.service.validation;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.RepetitionInfo;
+import org.junit.jupiter.api.Test;
+import org.kasarab.cs_demo.domain.UserDTO;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.kasarab.cs_demo.constant.ErrorMessages.EMAIL_IS_NOT_VALID_MSG;
+
+public class UserValidatorTests {
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    /**
+     * Characters the regex treats differently, plus a few it rejects; random strings over this alphabet
+     * hit every branch of the scanner.
+     */
+    private static final String ALPHABET = "aZ09_+&*-.@.@-x!\u00e9 \n";
+
+    private final UserValidator userValidator = new UserValidator(18);
+
+    @Test
+    public void testIsValidEmail_KnownCases() {
+        // Arrange
+        List<String> emails = List.of(
+                "andriy@ostapenko.com", "a.b+c@mail.example.org", "a@b.cd", "a@b.abcdefg", "a@b.abcdefgh",
+                "a@b.c", "a@b.c1", "a@b", "@b.com", "a@.com", "a@b..com", ".a@b.com", "a.@b.com", "a..b@b.com",
+                "a@b@c.com", "a@b.com.", "a@-.com", "a b@c.com", "a@b.com\n", "", "\u00e9@b.com"
+        );
+        // Act & Assert
+        for (String email : emails) {
+            assertEquals(EMAIL_PATTERN.matcher(email).matches(), UserValidator.isValidEmail(email), email);
+        }
+    }
+
+    @RepeatedTest(20)
+    public void testIsValidEmail_SameAsRegex(RepetitionInfo repetition) {
+        // Arrange
+        Random random = new Random(repetition.getCurrentRepetition());
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            String email = randomEmail(random);
+            assertEquals(EMAIL_PATTERN.matcher(email).matches(), UserValidator.isValidEmail(email), email);
+        }
+    }
+
+    @RepeatedTest(5)
+    public void testIsOldEnough_SameAsPeriod(RepetitionInfo repetition) {
+        // Arrange
+        Random random = new Random(repetition.getCurrentRepetition());
+        LocalDate today = LocalDate.now();
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate birthdate = today.minusDays(random.nextInt(40 * 366) - 366);
+            boolean expected = Period.between(birthdate, today).getYears() >= 18;
+            assertEquals(expected, userValidator.isOldEnough(birthdate), birthdate.toString());
+        }
+    }
+
+    @Test
+    public void testCheck_ReturnsFirstBrokenRule() {
+        // Arrange
+        UserDTO user = UserDTO.builder()
+                .firstname("Andriy")
+                .lastname("Ostapenko")
+                .birthdate(LocalDate.of(2000, 8, 19))
+                .email("andriy@ostapenko")
+                .build();
+        // Act & Assert
+        assertEquals(EMAIL_IS_NOT_VALID_MSG, userValidator.check(user));
+        user.setEmail("andriy@ostapenko.com");
+        assertNull(userValidator.check(user));
+        user.setBirthdate(LocalDate.now().minusYears(17));
+        assertEquals("User must be at least 18 years old.", userValidator.check(user));
+    }
+
+    /**
+     * Mostly near-valid shapes (local@label.tld with random edits), so both outcomes are frequent.
+     */
+    private static String randomEmail(Random random) {
+        StringBuilder email = new StringBuilder();
+        if (random.nextInt(4) == 0) {
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                email.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            return email.toString();
+        }
+        appendPart(random, email, "aZ09_+&*-", 1 + random.nextInt(3));
+        email.append('@');
+        appendPart(random, email, "aZ09-", 1 + random.nextInt(3));
+        email.append('.');
+        int tld = random.nextInt(10);
+        for (int i = 0; i < tld; i++) {
+            email.append(random.nextInt(8) == 0 ? '1' : 'c');
+        }
+        // one random edit anywhere
+        if (random.nextBoolean() && email.length() > 0) {
+            int at = random.nextInt(email.length());
+            email.setCharAt(at, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return email.toString();
+    }
+
+    private static void appendPart(Random random, StringBuilder email, String chars, int segments) {
+        for (int s = 0; s < segments; s++) {
+            if (s > 0) {
+                email.append('.');
+            }
+            int length = random.nextInt(4);
+            for (int i = 0; i < length; i++) {
+                email.append(chars.charAt(random.nextInt(chars.length())));
+            }
+        }
+    }
+}